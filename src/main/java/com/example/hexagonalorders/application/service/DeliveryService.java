@@ -1,16 +1,31 @@
 package com.example.hexagonalorders.application.service;
 
+import com.example.hexagonalorders.domain.event.DeliveryStatusChangedEvent;
+import com.example.hexagonalorders.domain.event.DomainEvent;
+import com.example.hexagonalorders.domain.exception.InvalidInputException;
 import com.example.hexagonalorders.domain.model.Delivery;
 import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.model.OutboxMessage;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryDate;
 import com.example.hexagonalorders.domain.port.in.DeliveryUseCase;
+import com.example.hexagonalorders.domain.port.out.DeliveryQueryRepository;
+import com.example.hexagonalorders.domain.port.out.DeliveryQueryRepository.DeliveryView;
 import com.example.hexagonalorders.domain.port.out.DeliveryRepository;
+import com.example.hexagonalorders.domain.port.out.EventCodec;
+import com.example.hexagonalorders.domain.port.out.OutboxRepository;
+import com.example.hexagonalorders.domain.service.TimeOrderedIdGenerator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Servicio de aplicación que implementa los casos de uso de entrega.
@@ -21,9 +36,21 @@ import java.util.UUID;
 public class DeliveryService implements DeliveryUseCase {
 
     private final DeliveryRepository deliveryRepository;
-
-    public DeliveryService(DeliveryRepository deliveryRepository) {
+    private final DeliveryQueryRepository deliveryQueryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxRepository outboxRepository;
+    private final EventCodec eventCodec;
+    private final TimeOrderedIdGenerator idGenerator;
+
+    public DeliveryService(DeliveryRepository deliveryRepository, DeliveryQueryRepository deliveryQueryRepository,
+                           ApplicationEventPublisher eventPublisher, OutboxRepository outboxRepository,
+                           EventCodec eventCodec, TimeOrderedIdGenerator idGenerator) {
         this.deliveryRepository = deliveryRepository;
+        this.deliveryQueryRepository = deliveryQueryRepository;
+        this.eventPublisher = eventPublisher;
+        this.outboxRepository = outboxRepository;
+        this.eventCodec = eventCodec;
+        this.idGenerator = idGenerator;
     }
 
     @Override
@@ -31,87 +58,76 @@ public class DeliveryService implements DeliveryUseCase {
         throw new UnsupportedOperationException("Usa crearEntrega(DeliveryCreationData) para crear entregas correctamente.");
     }
 
+    @Transactional
     public Delivery crearEntrega(com.example.hexagonalorders.infrastructure.in.web.mapper.DeliveryMapper.DeliveryCreationData data) {
         DeliveryId id = new DeliveryId(UUID.randomUUID().toString());
-        Delivery delivery = new Delivery(
-            id,
-            new com.example.hexagonalorders.domain.model.valueobject.OrderNumber(data.getOrderNumber()),
-            data.getDeliveryAddress(),
-            data.getScheduledDate(),
-            data.getStatus(),
-            data.getDeliveryNotes()
-        );
+        Delivery delivery;
+        try {
+            delivery = new Delivery(
+                id,
+                new com.example.hexagonalorders.domain.model.valueobject.OrderNumber(data.getOrderNumber()),
+                data.getDeliveryAddress(),
+                data.getScheduledDate(),
+                data.getStatus(),
+                data.getDeliveryNotes()
+            );
+        } catch (IllegalArgumentException e) {
+            // Las reglas del dominio rechazan los datos que envió el cliente
+            throw new InvalidInputException(e.getMessage(), e);
+        }
         Delivery savedDelivery = deliveryRepository.save(delivery);
-        savedDelivery.getDomainEvents().forEach(event -> {
-            System.out.println("Domain event published: " + event.getClass().getSimpleName());
-        });
+        publicarEventos(delivery);
         return savedDelivery;
     }
 
     @Override
-    public Delivery programarEntrega(DeliveryId deliveryId, DeliveryDate scheduledDate) {
-        Delivery delivery = deliveryRepository.findById(deliveryId)
-                .orElseThrow(() -> new RuntimeException("Entrega no encontrada: " + deliveryId.value()));
-        delivery.scheduleDelivery(scheduledDate);
-        Delivery updatedDelivery = deliveryRepository.save(delivery);
-        updatedDelivery.getDomainEvents().forEach(event -> {
-            System.out.println("Domain event published: " + event.getClass().getSimpleName());
-        });
-        return updatedDelivery;
+    @Transactional
+    public Delivery programarEntrega(DeliveryId deliveryId, DeliveryDate scheduledDate, Long expectedVersion) {
+        if (scheduledDate == null) {
+            // Una fecha nula en la actualización conservaría la fecha anterior
+            throw new InvalidInputException("Scheduled date cannot be null");
+        }
+        return cambiarEstado(deliveryId, DeliveryStatus.SCHEDULED, scheduledDate, expectedVersion,
+            delivery -> delivery.scheduleDelivery(scheduledDate));
     }
 
     @Override
-    public Delivery confirmarEntrega(DeliveryId deliveryId) {
-        Delivery delivery = deliveryRepository.findById(deliveryId)
-                .orElseThrow(() -> new RuntimeException("Entrega no encontrada: " + deliveryId.value()));
-        delivery.confirmDelivery();
-        Delivery updatedDelivery = deliveryRepository.save(delivery);
-        updatedDelivery.getDomainEvents().forEach(event -> {
-            System.out.println("Domain event published: " + event.getClass().getSimpleName());
-        });
-        return updatedDelivery;
+    @Transactional
+    public Delivery confirmarEntrega(DeliveryId deliveryId, Long expectedVersion) {
+        return cambiarEstado(deliveryId, DeliveryStatus.CONFIRMED, null, expectedVersion, Delivery::confirmDelivery);
     }
 
     @Override
-    public Delivery iniciarEntrega(DeliveryId deliveryId) {
-        Delivery delivery = deliveryRepository.findById(deliveryId)
-                .orElseThrow(() -> new RuntimeException("Entrega no encontrada: " + deliveryId.value()));
-        delivery.startDelivery();
-        Delivery updatedDelivery = deliveryRepository.save(delivery);
-        updatedDelivery.getDomainEvents().forEach(event -> {
-            System.out.println("Domain event published: " + event.getClass().getSimpleName());
-        });
-        return updatedDelivery;
+    @Transactional
+    public Delivery iniciarEntrega(DeliveryId deliveryId, Long expectedVersion) {
+        return cambiarEstado(deliveryId, DeliveryStatus.IN_TRANSIT, null, expectedVersion, Delivery::startDelivery);
     }
 
     @Override
-    public Delivery completarEntrega(DeliveryId deliveryId) {
-        Delivery delivery = deliveryRepository.findById(deliveryId)
-                .orElseThrow(() -> new RuntimeException("Entrega no encontrada: " + deliveryId.value()));
-        delivery.completeDelivery();
-        Delivery updatedDelivery = deliveryRepository.save(delivery);
-        updatedDelivery.getDomainEvents().forEach(event -> {
-            System.out.println("Domain event published: " + event.getClass().getSimpleName());
-        });
-        return updatedDelivery;
+    @Transactional
+    public Delivery completarEntrega(DeliveryId deliveryId, Long expectedVersion) {
+        return cambiarEstado(deliveryId, DeliveryStatus.COMPLETED, null, expectedVersion, Delivery::completeDelivery);
     }
 
     @Override
-    public Delivery cancelarEntrega(DeliveryId deliveryId) {
-        Delivery delivery = deliveryRepository.findById(deliveryId)
-                .orElseThrow(() -> new RuntimeException("Entrega no encontrada: " + deliveryId.value()));
-        delivery.cancelDelivery();
-        Delivery updatedDelivery = deliveryRepository.save(delivery);
-        updatedDelivery.getDomainEvents().forEach(event -> {
-            System.out.println("Domain event published: " + event.getClass().getSimpleName());
-        });
-        return updatedDelivery;
+    @Transactional
+    public Delivery cancelarEntrega(DeliveryId deliveryId, Long expectedVersion) {
+        return cambiarEstado(deliveryId, DeliveryStatus.CANCELLED, null, expectedVersion, Delivery::cancelDelivery);
     }
 
     public void eliminarEntrega(com.example.hexagonalorders.domain.model.valueobject.DeliveryId deliveryId) {
         deliveryRepository.deleteById(deliveryId);
     }
 
+    /**
+     * Elimina una entrega solo si conserva la versión indicada.
+     */
+    @Transactional
+    public void eliminarEntrega(DeliveryId deliveryId, long expectedVersion) {
+        cargarEntrega(deliveryId, expectedVersion);
+        deliveryRepository.deleteById(deliveryId);
+    }
+
     @Override
     public Optional<Delivery> obtenerEntrega(DeliveryId deliveryId) {
         return deliveryRepository.findById(deliveryId);
@@ -128,7 +144,106 @@ public class DeliveryService implements DeliveryUseCase {
             DeliveryStatus deliveryStatus = DeliveryStatus.valueOf(status.toUpperCase());
             return deliveryRepository.findByStatus(deliveryStatus);
         } catch (IllegalArgumentException e) {
-            throw new RuntimeException("Estado de entrega inválido: " + status);
+            throw new InvalidInputException("Estado de entrega inválido: " + status);
         }
     }
+
+    @Override
+    public void exportarEntregas(DeliveryStatus status, Consumer<DeliveryView> consumer) {
+        deliveryQueryRepository.forEach(status, consumer);
+    }
+
+    @Override
+    public Optional<DeliveryView> consultarEntrega(DeliveryId deliveryId) {
+        return deliveryQueryRepository.findById(deliveryId.value());
+    }
+
+    @Override
+    public Optional<Long> consultarVersionEntrega(DeliveryId deliveryId) {
+        return deliveryQueryRepository.findVersion(deliveryId.value());
+    }
+
+    @Override
+    public List<DeliveryView> consultarTodasLasEntregas() {
+        return deliveryQueryRepository.findAll();
+    }
+
+    @Override
+    public List<DeliveryView> consultarEntregasPorEstado(String status) {
+        try {
+            DeliveryStatus deliveryStatus = DeliveryStatus.valueOf(status.toUpperCase());
+            return deliveryQueryRepository.findByStatus(deliveryStatus);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Estado de entrega inválido: " + status);
+        }
+    }
+
+    /**
+     * Cambia el estado de una entrega con una única actualización condicionada a los estados
+     * de origen que permiten las reglas de {@link Delivery}, y a la versión esperada si se indica.
+     * Si la actualización no afecta a ninguna fila se averigua el motivo: la entrega no existe,
+     * tiene otra versión o su estado no admite la acción, en cuyo caso la propia acción de
+     * dominio lanza la excepción de la regla incumplida. Si la acción sí se admite, otra
+     * transición se adelantó: sin versión esperada es un conflicto y con ella la versión ya
+     * no es la indicada.
+     *
+     * Tras la actualización se vuelve a leer la entrega, porque la respuesta incluye datos
+     * que el UPDATE no devuelve: la dirección, las notas y la versión resultante cuando no
+     * se indicó ninguna. Es una lectura por clave primaria de una fila que la propia
+     * transacción tiene bloqueada.
+     */
+    private Delivery cambiarEstado(DeliveryId deliveryId, DeliveryStatus target, DeliveryDate scheduledDate,
+                                   Long expectedVersion, Consumer<Delivery> accion) {
+        if (!deliveryRepository.transition(deliveryId, Delivery.allowedSourcesFor(target), target,
+                scheduledDate, expectedVersion)) {
+            Delivery actual = cargarEntrega(deliveryId, expectedVersion);
+            accion.accept(actual);
+            // El estado cambió entre la actualización y la lectura
+            String mensaje = "La entrega " + deliveryId.value() + " cambió de estado durante la transición";
+            throw expectedVersion != null
+                ? new OptimisticLockingFailureException(mensaje)
+                : new ConcurrencyFailureException(mensaje);
+        }
+        // La fila queda bloqueada por la actualización hasta el commit, así que se lee tal como se dejó
+        Delivery delivery = deliveryRepository.findById(deliveryId)
+                .orElseThrow(() -> new NoSuchElementException("Entrega no encontrada: " + deliveryId.value()));
+        publicarEvento(deliveryId, new DeliveryStatusChangedEvent(deliveryId.value(), target));
+        return delivery;
+    }
+
+    /**
+     * Carga una entrega y comprueba que tenga la versión esperada, si se indica.
+     * El guardado vuelve a condicionar la escritura a esa versión.
+     */
+    private Delivery cargarEntrega(DeliveryId deliveryId, Long expectedVersion) {
+        Delivery delivery = deliveryRepository.findById(deliveryId)
+                .orElseThrow(() -> new NoSuchElementException("Entrega no encontrada: " + deliveryId.value()));
+        if (expectedVersion != null && !expectedVersion.equals(delivery.getVersion())) {
+            throw new OptimisticLockingFailureException(
+                "La entrega " + deliveryId.value() + " no tiene la versión " + expectedVersion);
+        }
+        return delivery;
+    }
+
+    /**
+     * Publica internamente los eventos pendientes de la entrega y los guarda en el outbox
+     * dentro de la misma transacción que el cambio de estado.
+     */
+    private void publicarEventos(Delivery delivery) {
+        for (DomainEvent event : delivery.getDomainEvents()) {
+            publicarEvento(delivery.getDeliveryId(), event);
+        }
+        delivery.clearDomainEvents();
+    }
+
+    private void publicarEvento(DeliveryId deliveryId, DomainEvent event) {
+        eventPublisher.publishEvent(event);
+        outboxRepository.save(OutboxMessage.createPendingMessage(
+            idGenerator.nextUuid(),
+            "Delivery",
+            UUID.nameUUIDFromBytes(deliveryId.value().getBytes()),
+            event.getClass().getSimpleName(),
+            eventCodec.encode(event)
+        ));
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,220 @@
+package com.example.hexagonalorders.application.service;
+
+import com.example.hexagonalorders.domain.model.Order;
+import com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper.OrderCreationData;
+import com.example.hexagonalorders.domain.model.OrderWithId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Creates single orders through group commit when {@code orders.group-commit.enabled} is set.
+ * Each caller numbers and validates its own order on its own thread, so an invalid order
+ * fails only that request. Valid orders are queued, and a writer thread collects them until
+ * {@code orders.group-commit.max-size} orders are waiting or {@code orders.group-commit.max-wait-us}
+ * microseconds have passed since the first one, then persists the whole group in a single
+ * transaction through {@link OrderService#persistOrders(List)}. Every caller is completed with
+ * its own order.
+ *
+ * If the group transaction fails, its orders are persisted again one transaction each, so
+ * a single failing order only fails its own caller.
+ *
+ * When group commit is disabled, orders are created directly through {@link OrderService}.
+ * A caller waits at most {@code orders.group-commit.timeout-ms} for the writer to take its
+ * order; an order still queued by then is withdrawn and fails its caller, while one the writer
+ * already took is waited for until its transaction ends, so a caller is never told that an
+ * order failed when it is committed afterwards. On stop, the
+ * writer thread is given the same time to empty the queue, and any order still queued
+ * afterwards fails its caller instead of leaving it waiting.
+ */
+@Service
+public class OrderGroupCommitter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderGroupCommitter.class);
+
+    private final OrderService orderService;
+    private final BlockingQueue<PendingOrder> queue = new LinkedBlockingQueue<>();
+
+    @Value("${orders.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${orders.group-commit.max-size:64}")
+    private int maxSize;
+
+    @Value("${orders.group-commit.max-wait-us:500}")
+    private long maxWaitMicros;
+
+    @Value("${orders.group-commit.timeout-ms:30000}")
+    private long timeoutMillis;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public OrderGroupCommitter(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    /**
+     * Creates an order, sharing the transaction with concurrent requests when group commit is enabled.
+     *
+     * @param orderData the data of the order to create
+     * @return the created order with its id
+     */
+    public OrderWithId createOrderWithId(OrderCreationData orderData) {
+        if (!running) {
+            return orderService.createOrderWithId(orderData);
+        }
+        PendingOrder pending = new PendingOrder(orderService.prepareOrder(orderData), new CompletableFuture<>());
+        queue.add(pending);
+        // stop() pudo llegar entre la comprobación y el add: si la orden sigue en la cola, la persiste el propio llamante
+        if (!running && queue.remove(pending)) {
+            return orderService.persistOrders(List.of(pending.order())).get(0);
+        }
+        try {
+            // El plazo se pone sobre una copia: orTimeout completaría el propio resultado que espera el escritor
+            return pending.result().copy().orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                // Solo se falla si la orden sigue en la cola: si el escritor ya la tomó, la confirmará él
+                if (queue.remove(pending)) {
+                    throw new IllegalStateException("Order " + pending.order().getOrderNumber().value()
+                        + " was not group-committed within " + timeoutMillis + " ms", e.getCause());
+                }
+                return awaitWriter(pending);
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Waits without a deadline for the writer to commit an order it has already taken from the queue.
+     */
+    private OrderWithId awaitWriter(PendingOrder pending) {
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingOrder> group = new ArrayList<>(maxSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                // Espera a más órdenes hasta llenar el grupo o agotar el plazo
+                long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+                while (group.size() < maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        queue.drainTo(group, maxSize - group.size());
+                        break;
+                    }
+                    PendingOrder next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(group);
+                running = false;
+            }
+            if (!group.isEmpty()) {
+                persist(group);
+                group.clear();
+            }
+        }
+    }
+
+    private void persist(List<PendingOrder> group) {
+        List<Order> orders = new ArrayList<>(group.size());
+        for (PendingOrder pending : group) {
+            orders.add(pending.order());
+        }
+        try {
+            List<OrderWithId> saved = orderService.persistOrders(orders);
+            for (int i = 0; i < group.size(); i++) {
+                group.get(i).result().complete(saved.get(i));
+            }
+            log.debug("Group-committed {} orders", group.size());
+        } catch (Exception e) {
+            if (group.size() == 1) {
+                group.get(0).result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Group commit of {} orders failed, persisting them one by one", group.size(), e);
+            for (PendingOrder pending : group) {
+                try {
+                    pending.result().complete(orderService.persistOrders(List.of(pending.order())).get(0));
+                } catch (Exception individual) {
+                    pending.result().completeExceptionally(individual);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !enabled) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::writeLoop, "order-group-commit");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        // El hilo termina por sí solo tras vaciar la cola; interrumpirlo podría cortar una transacción
+        running = false;
+        if (writerThread != null) {
+            try {
+                writerThread.join(timeoutMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writerThread = null;
+        }
+        List<PendingOrder> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        for (PendingOrder pending : leftover) {
+            pending.result().completeExceptionally(new IllegalStateException("Order group commit stopped before order "
+                + pending.order().getOrderNumber().value() + " was persisted"));
+        }
+        if (!leftover.isEmpty()) {
+            log.warn("Failed {} orders still queued when group commit stopped", leftover.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record PendingOrder(Order order, CompletableFuture<OrderWithId> result) {
+    }
+}
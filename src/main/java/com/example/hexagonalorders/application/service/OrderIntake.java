@@ -0,0 +1,226 @@
+package com.example.hexagonalorders.application.service;
+
+import com.example.hexagonalorders.domain.exception.InvalidInputException;
+import com.example.hexagonalorders.domain.model.Order;
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import com.example.hexagonalorders.domain.port.out.OrderIntakeStatusRepository;
+import com.example.hexagonalorders.domain.port.out.OrderIntakeStatusRepository.IntakeState;
+import com.example.hexagonalorders.domain.port.out.OrderIntakeStatusRepository.IntakeStatus;
+import com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper.OrderCreationData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous order intake.
+ * {@link #submit(OrderCreationData)} numbers and validates an order on the caller's thread
+ * and puts it on a bounded ring buffer of {@code orders.intake.capacity} entries; when the
+ * buffer is full the order is rejected right away instead of waiting, so the caller can
+ * push back on the client. {@code orders.intake.consumers} threads drain the buffer in
+ * batches of up to {@code orders.intake.batch-size} orders, each persisted in one
+ * transaction through {@link OrderService#persistOrders(List)}. If a batch fails, its
+ * orders are persisted again one transaction each, so only the failing ones are lost.
+ *
+ * The outcome of every accepted order is kept in the {@link OrderIntakeStatusRepository},
+ * so it can be polled through {@link #status(String)} on any node and after a restart.
+ * Finished entries are forgotten after {@code orders.intake.status-ttl-ms}.
+ *
+ * On stop, the consumers are given {@code orders.intake.shutdown-timeout-ms} to drain the
+ * buffer; orders still queued after that are marked as failed rather than silently dropped.
+ */
+@Service
+public class OrderIntake implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIntake.class);
+
+    private final OrderService orderService;
+    private final OrderIntakeStatusRepository statusRepository;
+    private final BlockingQueue<Order> buffer;
+
+    @Value("${orders.intake.consumers:2}")
+    private int consumerCount;
+
+    @Value("${orders.intake.batch-size:100}")
+    private int batchSize;
+
+    @Value("${orders.intake.status-ttl-ms:600000}")
+    private long statusTtlMs;
+
+    @Value("${orders.intake.shutdown-timeout-ms:30000}")
+    private long shutdownTimeoutMs;
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private final List<Thread> consumers = new ArrayList<>();
+
+    public OrderIntake(OrderService orderService, OrderIntakeStatusRepository statusRepository,
+                       @Value("${orders.intake.capacity:10000}") int capacity) {
+        this.orderService = orderService;
+        this.statusRepository = statusRepository;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Validates an order and queues it for creation.
+     *
+     * @param orderData the data of the order to create
+     * @return the number assigned to the order, or empty if the buffer is full or the intake is stopping
+     * @throws InvalidInputException if the order fails validation
+     */
+    public Optional<String> submit(OrderCreationData orderData) {
+        Order order = orderService.prepareOrder(orderData);
+        // Con el buffer lleno se rechaza sin tocar la base de datos: es la sobrecarga que el buffer debe absorber
+        if (stopped || buffer.remainingCapacity() == 0) {
+            return Optional.empty();
+        }
+        String orderNumber = order.getOrderNumber().value();
+        // El estado se registra antes de encolar para que un consumidor rápido no lo adelante
+        statusRepository.saveAccepted(orderNumber);
+        if (!buffer.offer(order)) {
+            // Otro envío ocupó el último hueco entre la comprobación y el offer
+            statusRepository.delete(orderNumber);
+            return Optional.empty();
+        }
+        // stop() pudo llegar entre tanto: si la orden sigue en el buffer, nadie la consumirá
+        if (stopped && buffer.remove(order)) {
+            statusRepository.delete(orderNumber);
+            return Optional.empty();
+        }
+        return Optional.of(orderNumber);
+    }
+
+    /**
+     * @param orderNumber the number returned by {@link #submit(OrderCreationData)}
+     * @return the intake status of the order, or empty if it is unknown or already forgotten
+     */
+    public Optional<IntakeStatus> status(String orderNumber) {
+        Optional<IntakeStatus> status = statusRepository.find(orderNumber);
+        // La orden y su estado se confirman por separado: si la orden ya existe, se creó
+        if (status.isPresent() && status.get().state() == IntakeState.ACCEPTED
+                && orderService.orderExists(new OrderNumber(orderNumber))) {
+            return Optional.of(new IntakeStatus(IntakeState.CREATED, null, status.get().updatedAt()));
+        }
+        return status;
+    }
+
+    @Scheduled(fixedDelayString = "${orders.intake.status-purge-interval-ms:60000}")
+    public void forgetFinishedStatuses() {
+        try {
+            int purged = statusRepository.deleteFinishedBefore(Instant.now().minusMillis(statusTtlMs));
+            if (purged > 0) {
+                log.debug("Forgot {} finished intake statuses", purged);
+            }
+        } catch (Exception e) {
+            log.error("Error purging finished intake statuses", e);
+        }
+    }
+
+    private void consumeLoop() {
+        List<Order> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                Order first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            persist(batch);
+            batch.clear();
+        }
+    }
+
+    private void persist(List<Order> batch) {
+        try {
+            orderService.persistOrders(batch);
+            markCreated(batch);
+        } catch (Exception e) {
+            log.warn("Intake batch of {} orders failed, persisting them one by one", batch.size(), e);
+            for (Order order : batch) {
+                try {
+                    orderService.persistOrders(List.of(order));
+                    markCreated(List.of(order));
+                } catch (Exception individual) {
+                    log.error("Could not create order {}", order.getOrderNumber(), individual);
+                    markFailed(order, individual.getMessage());
+                }
+            }
+        }
+    }
+
+    private void markCreated(List<Order> orders) {
+        try {
+            statusRepository.markCreated(orders.stream().map(order -> order.getOrderNumber().value()).toList());
+        } catch (Exception e) {
+            // Las órdenes ya están confirmadas; status() las dará por creadas igualmente
+            log.warn("Could not record the creation of {} intake orders", orders.size(), e);
+        }
+    }
+
+    private void markFailed(Order order, String error) {
+        try {
+            statusRepository.markFailed(order.getOrderNumber().value(), error);
+        } catch (Exception e) {
+            log.error("Could not record the failure of order {}", order.getOrderNumber(), e);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        stopped = false;
+        for (int i = 0; i < consumerCount; i++) {
+            Thread consumer = new Thread(this::consumeLoop, "order-intake-" + i);
+            consumer.setDaemon(true);
+            consumer.start();
+            consumers.add(consumer);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        // Los consumidores terminan solos tras vaciar el buffer; interrumpirlos podría cortar una transacción
+        running = false;
+        stopped = true;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        try {
+            for (Thread consumer : consumers) {
+                consumer.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        consumers.clear();
+        List<Order> leftover = new ArrayList<>();
+        buffer.drainTo(leftover);
+        for (Order order : leftover) {
+            markFailed(order, "Order intake stopped before the order was created");
+        }
+        if (!leftover.isEmpty()) {
+            log.warn("Failed {} orders still queued when the intake stopped", leftover.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
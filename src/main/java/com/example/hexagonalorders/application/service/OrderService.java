@@ -1,18 +1,24 @@
 package com.example.hexagonalorders.application.service;
 
 import com.example.hexagonalorders.domain.event.DomainEvent;
+import com.example.hexagonalorders.domain.event.OrderDeletedEvent;
+import com.example.hexagonalorders.domain.exception.InvalidInputException;
 import com.example.hexagonalorders.domain.model.Order;
 import com.example.hexagonalorders.domain.model.OutboxMessage;
 import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
 import com.example.hexagonalorders.domain.port.in.OrderUseCase;
+import com.example.hexagonalorders.domain.port.out.EventCodec;
+import com.example.hexagonalorders.domain.port.out.IdempotencyKeyRepository;
 import com.example.hexagonalorders.domain.port.out.OrderNumberGenerator;
+import com.example.hexagonalorders.domain.port.out.OrderQueryRepository;
 import com.example.hexagonalorders.domain.port.out.OrderRepository;
 import com.example.hexagonalorders.domain.port.out.OutboxRepository;
 import com.example.hexagonalorders.domain.service.OrderValidationService;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.hexagonalorders.domain.service.TimeOrderedIdGenerator;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -33,41 +39,40 @@ public class OrderService implements OrderUseCase {
     private final OrderValidationService orderValidationService;
     private final ApplicationEventPublisher eventPublisher;
     private final OutboxRepository outboxRepository;
-    private final ObjectMapper objectMapper;
+    private final EventCodec eventCodec;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final OrderQueryRepository orderQueryRepository;
+    private final TimeOrderedIdGenerator idGenerator;
 
     public OrderService(OrderRepository orderRepository, 
                        OrderNumberGenerator orderNumberGenerator, 
                        OrderValidationService orderValidationService, 
                        ApplicationEventPublisher eventPublisher, 
                        OutboxRepository outboxRepository, 
-                       ObjectMapper objectMapper) {
+                       EventCodec eventCodec,
+                       IdempotencyKeyRepository idempotencyKeyRepository,
+                       OrderQueryRepository orderQueryRepository,
+                       TimeOrderedIdGenerator idGenerator) {
         this.orderRepository = orderRepository;
         this.orderNumberGenerator = orderNumberGenerator;
         this.orderValidationService = orderValidationService;
         this.eventPublisher = eventPublisher;
         this.outboxRepository = outboxRepository;
-        this.objectMapper = objectMapper;
+        this.eventCodec = eventCodec;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.orderQueryRepository = orderQueryRepository;
+        this.idGenerator = idGenerator;
     }
 
     @Override
     @Transactional
     public Order createOrder(com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper.OrderCreationData orderData) {
-        OrderNumber orderNumber = orderNumberGenerator.generate();
-
-        // Crear la orden con el número generado y los datos recibidos
-        Order order = new Order(
-            orderNumber,
-            orderData.getCustomerId(),
-            orderData.getOrderDate(),
-            orderData.getItems(),
-            orderData.getStatus()
-        );
-
-        // Validar la orden usando el servicio de dominio
-        orderValidationService.validateOrder(order);
+        // Crear la orden con un número generado y validarla con el servicio de dominio
+        Order order = prepareOrder(orderData);
+        OrderNumber orderNumber = order.getOrderNumber();
 
         // Usar el método que devuelve el id
-        var orderWithId = ((com.example.hexagonalorders.infrastructure.out.persistence.repository.OrderRepositoryAdapter) orderRepository).saveWithId(order);
+        var orderWithId = orderRepository.saveWithId(order);
         Order savedOrder = orderWithId.getOrder();
 
         // Procesar eventos de dominio: publicar internamente y persistir en outbox
@@ -81,23 +86,13 @@ public class OrderService implements OrderUseCase {
         return savedOrder;
     }
     
-    public com.example.hexagonalorders.infrastructure.out.persistence.repository.OrderRepositoryAdapter.OrderWithId createOrderWithId(com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper.OrderCreationData orderData) {
-        OrderNumber orderNumber = orderNumberGenerator.generate();
-
-        // Crear la orden con el número generado y los datos recibidos
-        Order order = new Order(
-            orderNumber,
-            orderData.getCustomerId(),
-            orderData.getOrderDate(),
-            orderData.getItems(),
-            orderData.getStatus()
-        );
-
-        // Validar la orden usando el servicio de dominio
-        orderValidationService.validateOrder(order);
+    public com.example.hexagonalorders.domain.model.OrderWithId createOrderWithId(com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper.OrderCreationData orderData) {
+        // Crear la orden con un número generado y validarla con el servicio de dominio
+        Order order = prepareOrder(orderData);
+        OrderNumber orderNumber = order.getOrderNumber();
 
         // Usar el método que devuelve el id
-        var orderWithId = ((com.example.hexagonalorders.infrastructure.out.persistence.repository.OrderRepositoryAdapter) orderRepository).saveWithId(order);
+        var orderWithId = orderRepository.saveWithId(order);
         Order savedOrder = orderWithId.getOrder();
 
         // Procesar eventos de dominio: publicar internamente y persistir en outbox
@@ -111,14 +106,109 @@ public class OrderService implements OrderUseCase {
         return orderWithId;
     }
 
+    /**
+     * Creates an order and records it under the client's idempotency key in the same
+     * transaction, so a key is never stored without its order or the other way round.
+     * If another request already recorded the key, the transaction fails and no order is created.
+     *
+     * @param idempotencyKey the key sent by the client
+     * @param requestHash the fingerprint of the request, recorded with the key
+     * @param orderData the data of the order to create
+     * @return the created order with its id
+     */
+    @Transactional
+    public com.example.hexagonalorders.domain.model.OrderWithId createOrderWithIdempotencyKey(String idempotencyKey, String requestHash, com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper.OrderCreationData orderData) {
+        var orderWithId = persistOrders(List.of(prepareOrder(orderData))).get(0);
+        idempotencyKeyRepository.save(idempotencyKey, requestHash, orderWithId.getOrder().getOrderNumber());
+        return orderWithId;
+    }
+
+    /**
+     * @param idempotencyKey the key sent by the client
+     * @return the order already created for the key and the fingerprint of its request, if any
+     */
+    public Optional<IdempotencyKeyRepository.RecordedKey> findIdempotencyKey(String idempotencyKey) {
+        return idempotencyKeyRepository.find(idempotencyKey);
+    }
+
+    @Override
+    @Transactional
+    public List<Order> createOrders(List<com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper.OrderCreationData> ordersData) {
+        List<Order> createdOrders = new ArrayList<>(ordersData.size());
+        for (var orderWithId : createOrdersWithId(ordersData)) {
+            createdOrders.add(orderWithId.getOrder());
+        }
+        return createdOrders;
+    }
+
+    @Transactional
+    public List<com.example.hexagonalorders.domain.model.OrderWithId> createOrdersWithId(List<com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper.OrderCreationData> ordersData) {
+        // Validar todas las órdenes antes de escribir ninguna
+        List<Order> orders = new ArrayList<>(ordersData.size());
+        for (var orderData : ordersData) {
+            orders.add(prepareOrder(orderData));
+        }
+        return persistOrders(orders);
+    }
+
+    /**
+     * Numbers and validates a new order without persisting it.
+     *
+     * @param orderData the data of the order to create
+     * @return the validated order
+     * @throws InvalidInputException if the order fails validation
+     */
+    public Order prepareOrder(com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper.OrderCreationData orderData) {
+        OrderNumber orderNumber = orderNumberGenerator.generate();
+        try {
+            Order order = new Order(
+                orderNumber,
+                orderData.getCustomerId(),
+                orderData.getOrderDate(),
+                orderData.getItems(),
+                orderData.getStatus()
+            );
+            orderValidationService.validateOrder(order);
+            return order;
+        } catch (IllegalArgumentException e) {
+            // Las reglas del dominio rechazan los datos que envió el cliente
+            throw new InvalidInputException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Persists already validated orders and their outbox messages in one transaction,
+     * writing the rows in JDBC batches.
+     *
+     * @param orders orders returned by {@link #prepareOrder}
+     * @return the saved orders with their ids, in the same order
+     */
+    @Transactional
+    public List<com.example.hexagonalorders.domain.model.OrderWithId> persistOrders(List<Order> orders) {
+        var ordersWithId = orderRepository.saveAllWithId(orders);
+
+        // Procesar eventos de dominio y escribir todo el outbox del lote de una vez
+        List<OutboxMessage> outboxMessages = new ArrayList<>();
+        for (var orderWithId : ordersWithId) {
+            Order savedOrder = orderWithId.getOrder();
+            for (DomainEvent event : savedOrder.getDomainEvents()) {
+                eventPublisher.publishEvent(event);
+                outboxMessages.add(toOutboxMessage(event, "Order", savedOrder.getOrderNumber().value()));
+            }
+            savedOrder.clearDomainEvents();
+        }
+        outboxRepository.saveAll(outboxMessages);
+
+        return ordersWithId;
+    }
+
     @Override
     public Optional<Order> getOrder(OrderNumber orderNumber) {
         return orderRepository.findByOrderNumber(orderNumber);
     }
     
-    public Optional<com.example.hexagonalorders.infrastructure.out.persistence.repository.OrderRepositoryAdapter.OrderWithId> getOrderWithId(OrderNumber orderNumber) {
-        return ((com.example.hexagonalorders.infrastructure.out.persistence.repository.OrderRepositoryAdapter) orderRepository)
-            .findByOrderNumberWithId(orderNumber);
+    public Optional<com.example.hexagonalorders.domain.model.OrderWithId> getOrderWithId(OrderNumber orderNumber) {
+        return orderRepository.findByOrderNumberWithId(orderNumber);
     }
 
     @Override
@@ -126,10 +216,81 @@ public class OrderService implements OrderUseCase {
         return orderRepository.findAll();
     }
 
+    /**
+     * Lists a page of orders, oldest first.
+     *
+     * @param filter the criteria the orders must match
+     * @param afterId the id of the last order of the previous page, or null for the first page
+     * @param limit the maximum number of orders to return
+     * @return the read models of the orders of the page
+     */
+    public List<OrderQueryRepository.OrderView> getOrdersPage(OrderQueryRepository.OrderFilter filter, Long afterId, int limit) {
+        return orderQueryRepository.findPage(filter, afterId, limit);
+    }
+
+    @Override
+    public List<OrderQueryRepository.OrderView> searchOrders(OrderQueryRepository.OrderSearch search,
+                                                             OrderQueryRepository.SearchCursor after, int limit) {
+        return orderQueryRepository.search(search, after, limit);
+    }
+
+    /**
+     * Hands every matching order to the consumer while it is read, oldest first.
+     *
+     * @param filter the criteria the orders must match
+     * @param consumer receives the orders one by one
+     */
+    public void streamOrders(OrderQueryRepository.OrderFilter filter, java.util.function.Consumer<OrderQueryRepository.OrderView> consumer) {
+        orderQueryRepository.forEach(filter, consumer);
+    }
+
+    /**
+     * @param orderNumber the order number
+     * @return true if an order with that number exists
+     */
+    public boolean orderExists(OrderNumber orderNumber) {
+        return orderQueryRepository.existsByOrderNumber(orderNumber.value());
+    }
+
+    /**
+     * Reads only the version of an order, without loading the order itself.
+     *
+     * @param orderNumber the order number
+     * @return the version of the order if found
+     */
+    public Optional<Long> getOrderVersion(OrderNumber orderNumber) {
+        return orderQueryRepository.findVersion(orderNumber.value());
+    }
+
     @Override
     @Transactional
     public void deleteOrder(OrderNumber orderNumber) {
-        orderRepository.deleteByOrderNumber(orderNumber);
+        if (orderRepository.deleteByOrderNumber(orderNumber)) {
+            publishDeletion(orderNumber);
+        }
+    }
+
+    /**
+     * Deletes an order only if it still has the given version.
+     *
+     * @param orderNumber the order number
+     * @param expectedVersion the version the order must have
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the order has another version or no longer exists
+     */
+    @Transactional
+    public void deleteOrder(OrderNumber orderNumber, long expectedVersion) {
+        orderRepository.deleteByOrderNumber(orderNumber, expectedVersion);
+        publishDeletion(orderNumber);
+    }
+
+    /**
+     * Publishes the deletion of an order and writes it to the outbox, in the transaction
+     * of the delete, so read models drop the order together with it.
+     */
+    private void publishDeletion(OrderNumber orderNumber) {
+        OrderDeletedEvent event = new OrderDeletedEvent(orderNumber);
+        eventPublisher.publishEvent(event);
+        persistToOutbox(event, "Order", orderNumber.value());
     }
 
     /**
@@ -140,22 +301,25 @@ public class OrderService implements OrderUseCase {
      * @param aggregateId the identifier of the aggregate
      */
     protected void persistToOutbox(DomainEvent event, String aggregateType, String aggregateId) {
+        outboxRepository.save(toOutboxMessage(event, aggregateType, aggregateId));
+    }
+
+    private OutboxMessage toOutboxMessage(DomainEvent event, String aggregateType, String aggregateId) {
         try {
-            String payload = objectMapper.writeValueAsString(event);
+            byte[] payload = eventCodec.encode(event);
             String eventType = event.getClass().getSimpleName();
            
             // Generate a deterministic UUID based on the aggregateId string
             // This ensures the same aggregate always gets the same UUID
             UUID uuid = UUID.nameUUIDFromBytes(aggregateId.getBytes());
            
-            OutboxMessage outboxMessage = OutboxMessage.createPendingMessage(
+            return OutboxMessage.createPendingMessage(
+                idGenerator.nextUuid(),
                 aggregateType,
                 uuid,
                 eventType,
                 payload
             );
-           
-            outboxRepository.save(outboxMessage);
         } catch (Exception e) {
             throw new RuntimeException("Failed to persist event to outbox", e);
         }
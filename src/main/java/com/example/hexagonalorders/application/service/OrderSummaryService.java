@@ -0,0 +1,109 @@
+package com.example.hexagonalorders.application.service;
+
+import com.example.hexagonalorders.domain.event.DeliveryCreatedEvent;
+import com.example.hexagonalorders.domain.event.DeliveryStatusChangedEvent;
+import com.example.hexagonalorders.domain.event.OrderCreatedEvent;
+import com.example.hexagonalorders.domain.event.OrderDeletedEvent;
+import com.example.hexagonalorders.domain.event.OrderItemAddedEvent;
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.port.out.OrderSummaryRepository;
+import com.example.hexagonalorders.domain.port.out.OrderSummaryRepository.OrderSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maintains and serves the order summary read model.
+ *
+ * The summary is projected from the domain events published by {@link OrderService} and
+ * {@link DeliveryService}. Events are applied synchronously, inside the transaction that
+ * raised them, so a summary always matches the committed orders and deliveries. Each event
+ * touches a single summary row.
+ *
+ * Deleted deliveries raise no events; the summaries of their orders are corrected by
+ * {@link #rebuild()}, which recomputes the whole read model from the source tables.
+ * Deleted orders remove their summary in the transaction of the delete.
+ */
+@Service
+public class OrderSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSummaryService.class);
+
+    private final OrderSummaryRepository orderSummaryRepository;
+
+    public OrderSummaryService(OrderSummaryRepository orderSummaryRepository) {
+        this.orderSummaryRepository = orderSummaryRepository;
+    }
+
+    @EventListener
+    @Transactional
+    public void on(OrderCreatedEvent event) {
+        orderSummaryRepository.insert(new OrderSummary(event.getOrderNumber().value(), event.getCustomerId(),
+            event.getOrderDate(), event.getStatus(), event.getItemCount(), event.getTotalAmount(), null, null));
+    }
+
+    @EventListener
+    @Transactional
+    public void on(OrderItemAddedEvent event) {
+        orderSummaryRepository.addItem(event.getOrderNumber().value(),
+            event.getUnitPrice().multiply(BigDecimal.valueOf(event.getQuantity().value())));
+    }
+
+    @EventListener
+    @Transactional
+    public void on(DeliveryCreatedEvent event) {
+        orderSummaryRepository.setLatestDelivery(event.getOrderNumber(), event.getDeliveryId(), event.getStatus());
+    }
+
+    @EventListener
+    @Transactional
+    public void on(DeliveryStatusChangedEvent event) {
+        orderSummaryRepository.updateDeliveryStatus(event.getDeliveryId(), event.getNewStatus());
+    }
+
+    @EventListener
+    @Transactional
+    public void on(OrderDeletedEvent event) {
+        orderSummaryRepository.delete(event.getOrderNumber().value());
+    }
+
+    /**
+     * @param orderNumber the order number
+     * @return the summary of the order, if it exists
+     */
+    public Optional<OrderSummary> getSummary(String orderNumber) {
+        return orderSummaryRepository.findByOrderNumber(orderNumber);
+    }
+
+    /**
+     * Lists a page of summaries in ascending order number.
+     *
+     * @param customerId only summaries of this customer; null for all
+     * @param deliveryStatus only orders whose latest delivery has this status; null for all
+     * @param afterOrderNumber the last order number of the previous page, or null for the first page
+     * @param limit the maximum number of summaries to return
+     * @return the summaries of the page
+     */
+    public List<OrderSummary> getSummaries(String customerId, DeliveryStatus deliveryStatus, String afterOrderNumber, int limit) {
+        return orderSummaryRepository.findPage(customerId, deliveryStatus, afterOrderNumber, limit);
+    }
+
+    /**
+     * Recomputes every summary from the orders, order items and deliveries tables.
+     * Meant for the first deployment and for repairs; events applied while it runs may be lost.
+     *
+     * @return the number of summaries written
+     */
+    public int rebuild() {
+        long start = System.nanoTime();
+        int rebuilt = orderSummaryRepository.rebuild();
+        log.info("Rebuilt {} order summaries in {} ms", rebuilt, (System.nanoTime() - start) / 1_000_000);
+        return rebuilt;
+    }
+}
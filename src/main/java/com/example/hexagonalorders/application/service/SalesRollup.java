@@ -0,0 +1,151 @@
+package com.example.hexagonalorders.application.service;
+
+import com.example.hexagonalorders.domain.model.OrderItem;
+import com.example.hexagonalorders.domain.port.out.SalesStatsRepository.Dimension;
+import com.example.hexagonalorders.domain.port.out.SalesStatsRepository.SalesTotal;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory sales totals per order day, per product and per customer within each day.
+ * Counters are plain longs, with amounts in cents, so adding an order allocates nothing
+ * once its keys are known. Each day is locked on its own: orders of different days are
+ * added without contention, and a range is summed day by day.
+ */
+final class SalesRollup {
+
+    private final ConcurrentSkipListMap<LocalDate, Day> days = new ConcurrentSkipListMap<>();
+
+    /**
+     * Adds one order.
+     *
+     * @param day the order date
+     * @param customerId the customer who placed the order
+     * @param items the items of the order
+     */
+    void addOrder(LocalDate day, String customerId, List<OrderItem> items) {
+        long units = 0;
+        long cents = 0;
+        Day bucket = days.computeIfAbsent(day, d -> new Day());
+        synchronized (bucket) {
+            Set<String> products = new HashSet<>();
+            for (OrderItem item : items) {
+                long itemUnits = item.getQuantity().value();
+                long itemCents = itemUnits * toCents(item.getUnitPrice());
+                // Una orden cuenta una sola vez por producto aunque lo repita en varias líneas
+                bucket.byProduct.computeIfAbsent(item.getProductNumber().value(), k -> new Counter())
+                    .add(products.add(item.getProductNumber().value()) ? 1 : 0, itemUnits, itemCents);
+                units += itemUnits;
+                cents += itemCents;
+            }
+            bucket.total.add(1, units, cents);
+            bucket.byCustomer.computeIfAbsent(customerId, k -> new Counter()).add(1, units, cents);
+        }
+    }
+
+    /**
+     * Adds totals already computed elsewhere, as when loading the rollup.
+     *
+     * @param dimension what the totals belong to
+     * @param day the order date
+     * @param key the product number or customer id; ignored for {@link Dimension#DAY}
+     * @param orders the number of orders
+     * @param units the number of units
+     * @param revenue the revenue
+     */
+    void add(Dimension dimension, LocalDate day, String key, long orders, long units, BigDecimal revenue) {
+        Day bucket = days.computeIfAbsent(day, d -> new Day());
+        synchronized (bucket) {
+            Counter counter = switch (dimension) {
+                case DAY -> bucket.total;
+                case PRODUCT -> bucket.byProduct.computeIfAbsent(key, k -> new Counter());
+                case CUSTOMER -> bucket.byCustomer.computeIfAbsent(key, k -> new Counter());
+            };
+            counter.add(orders, units, toCents(revenue));
+        }
+    }
+
+    /**
+     * Sums the totals of a range of days.
+     *
+     * @param dimension what the totals are grouped by
+     * @param from the first day, inclusive; null for no lower bound
+     * @param to the last day, exclusive; null for no upper bound
+     * @param limit the maximum number of totals to return
+     * @return totals by day in ascending date order, or by product or customer in descending revenue order
+     */
+    List<SalesTotal> totals(Dimension dimension, LocalDate from, LocalDate to, int limit) {
+        Map<LocalDate, Day> range = from == null && to == null ? days
+            : from == null ? days.headMap(to)
+            : to == null ? days.tailMap(from)
+            : days.subMap(from, to);
+
+        List<SalesTotal> totals = new ArrayList<>();
+        if (dimension == Dimension.DAY) {
+            for (Map.Entry<LocalDate, Day> entry : range.entrySet()) {
+                if (totals.size() == limit) {
+                    break;
+                }
+                synchronized (entry.getValue()) {
+                    totals.add(entry.getValue().total.toTotal(entry.getKey().toString()));
+                }
+            }
+            return totals;
+        }
+
+        Map<String, Counter> merged = new HashMap<>();
+        for (Day bucket : range.values()) {
+            synchronized (bucket) {
+                Map<String, Counter> counters = dimension == Dimension.PRODUCT ? bucket.byProduct : bucket.byCustomer;
+                counters.forEach((key, counter) -> merged.computeIfAbsent(key, k -> new Counter()).add(counter));
+            }
+        }
+        merged.forEach((key, counter) -> totals.add(counter.toTotal(key)));
+        totals.sort(Comparator.comparing(SalesTotal::revenue).reversed().thenComparing(SalesTotal::key));
+        return totals.size() > limit ? new ArrayList<>(totals.subList(0, limit)) : totals;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        // Los precios se guardan con dos decimales; se redondea igual que la base de datos
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Totals of one day. Guarded by its own monitor.
+     */
+    private static final class Day {
+        private final Counter total = new Counter();
+        private final Map<String, Counter> byProduct = new HashMap<>();
+        private final Map<String, Counter> byCustomer = new HashMap<>();
+    }
+
+    private static final class Counter {
+        private long orders;
+        private long units;
+        private long cents;
+
+        void add(long orders, long units, long cents) {
+            this.orders += orders;
+            this.units += units;
+            this.cents += cents;
+        }
+
+        void add(Counter other) {
+            add(other.orders, other.units, other.cents);
+        }
+
+        SalesTotal toTotal(String key) {
+            return new SalesTotal(key, orders, units, BigDecimal.valueOf(cents, 2));
+        }
+    }
+}
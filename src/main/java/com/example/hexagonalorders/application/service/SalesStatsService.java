@@ -0,0 +1,182 @@
+package com.example.hexagonalorders.application.service;
+
+import com.example.hexagonalorders.domain.event.OrderCreatedEvent;
+import com.example.hexagonalorders.domain.port.out.OrderQueryRepository;
+import com.example.hexagonalorders.domain.port.out.SalesStatsRepository;
+import com.example.hexagonalorders.domain.port.out.SalesStatsRepository.Dimension;
+import com.example.hexagonalorders.domain.port.out.SalesStatsRepository.SalesTotal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serves sales totals per day, product and customer.
+ *
+ * Totals over whole days are answered from an in-memory {@link SalesRollup}, which is
+ * loaded from the database before the application starts serving requests and then kept
+ * up to date with every committed {@link OrderCreatedEvent}, without reading order items
+ * again. Ranges that start or end within a day, and any request made while the rollup
+ * is not loaded, are computed by the database through {@link SalesStatsRepository}.
+ *
+ * Items added to an existing order and deleted orders raise no event the rollup can use;
+ * they are reflected after {@link #rebuild()}, which reloads the rollup from the database.
+ */
+@Service
+public class SalesStatsService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesStatsService.class);
+
+    /**
+     * Where a set of totals was computed.
+     */
+    public enum Source {
+        ROLLUP,
+        QUERY
+    }
+
+    /**
+     * Sales totals and where they were computed.
+     *
+     * @param source whether the totals come from the rollup or from a query
+     * @param totals the totals
+     */
+    public record SalesStats(Source source, List<SalesTotal> totals) {
+    }
+
+    private final SalesStatsRepository salesStatsRepository;
+    private final OrderQueryRepository orderQueryRepository;
+    private final TransactionTemplate snapshotTransaction;
+
+    // Protege el par rollup/reload: un evento debe ver ambos antes o ambos después del cambio
+    private final Object swapLock = new Object();
+    private volatile SalesRollup rollup;
+    private volatile Reload reload;
+
+    public SalesStatsService(SalesStatsRepository salesStatsRepository, OrderQueryRepository orderQueryRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.salesStatsRepository = salesStatsRepository;
+        this.orderQueryRepository = orderQueryRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        // Las tres consultas de carga y la comprobación de pendientes deben ver el mismo estado
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Computes sales totals over a range of order dates.
+     *
+     * @param dimension what the totals are grouped by
+     * @param from the earliest order date, inclusive; null for no lower bound
+     * @param to the latest order date, exclusive; null for no upper bound
+     * @param limit the maximum number of totals to return
+     * @return the totals and where they were computed
+     */
+    public SalesStats getTotals(Dimension dimension, LocalDateTime from, LocalDateTime to, int limit) {
+        SalesRollup current = rollup;
+        if (current != null && isStartOfDay(from) && isStartOfDay(to)) {
+            return new SalesStats(Source.ROLLUP, current.totals(dimension,
+                from == null ? null : from.toLocalDate(), to == null ? null : to.toLocalDate(), limit));
+        }
+        return new SalesStats(Source.QUERY, salesStatsRepository.totals(dimension, from, to, limit));
+    }
+
+    /**
+     * Replaces the rollup with one loaded from the database.
+     * Orders committed while it loads are added to the new rollup unless the load already saw them.
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Reload next = new Reload();
+        synchronized (swapLock) {
+            reload = next;
+        }
+        try {
+            snapshotTransaction.executeWithoutResult(status -> {
+                for (Dimension dimension : Dimension.values()) {
+                    salesStatsRepository.forEachDailyTotal(dimension, total -> next.rollup.add(dimension, total.day(),
+                        total.key(), total.orders(), total.units(), total.revenue()));
+                }
+                for (OrderCreatedEvent event : next.close()) {
+                    if (!orderQueryRepository.existsByOrderNumber(event.getOrderNumber().value())) {
+                        add(next.rollup, event);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // Una recarga fallida no debe seguir acumulando eventos
+            synchronized (swapLock) {
+                reload = null;
+            }
+            throw e;
+        }
+        synchronized (swapLock) {
+            rollup = next.rollup;
+            reload = null;
+        }
+        log.info("Loaded sales rollup in {} ms", System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void on(OrderCreatedEvent event) {
+        SalesRollup current;
+        Reload pending;
+        synchronized (swapLock) {
+            current = rollup;
+            pending = reload;
+        }
+        // Quien vio el rollup anterior también ve la recarga, que lleva el evento al nuevo
+        if (current != null) {
+            add(current, event);
+        }
+        if (pending != null) {
+            pending.offer(event);
+        }
+    }
+
+    private static void add(SalesRollup rollup, OrderCreatedEvent event) {
+        rollup.addOrder(event.getOrderDate().toLocalDate(), event.getCustomerId(), event.getItems());
+    }
+
+    private static boolean isStartOfDay(LocalDateTime time) {
+        return time == null || time.toLocalTime().equals(LocalTime.MIDNIGHT);
+    }
+
+    /**
+     * A rollup being loaded, with the orders committed meanwhile. Until it is closed the
+     * load may or may not see those orders, so they are kept aside to be checked.
+     */
+    private static final class Reload {
+        private final SalesRollup rollup = new SalesRollup();
+        private final List<OrderCreatedEvent> pending = new ArrayList<>();
+        private boolean closed;
+
+        synchronized void offer(OrderCreatedEvent event) {
+            if (closed) {
+                add(rollup, event);
+            } else {
+                pending.add(event);
+            }
+        }
+
+        synchronized List<OrderCreatedEvent> close() {
+            closed = true;
+            return pending;
+        }
+    }
+}
@@ -1,4 +1,10 @@
 package com.example.hexagonalorders.domain.event;
+
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
 /**
  * Evento de dominio que se genera cuando se crea una nueva entrega.
  * Este evento representa un hecho significativo en el dominio de entregas.
@@ -6,10 +12,20 @@ package com.example.hexagonalorders.domain.event;
 public class DeliveryCreatedEvent extends DomainEvent {
     private final String deliveryId;
     private final String orderNumber;
+    private final DeliveryStatus status;
 
-    public DeliveryCreatedEvent(String deliveryId, String orderNumber) {
+    public DeliveryCreatedEvent(String deliveryId, String orderNumber, DeliveryStatus status) {
         this.deliveryId = deliveryId;
         this.orderNumber = orderNumber;
+        this.status = status;
+    }
+
+    public DeliveryCreatedEvent(UUID eventId, LocalDateTime occurredOn, String deliveryId, String orderNumber,
+                                DeliveryStatus status) {
+        super(eventId, occurredOn);
+        this.deliveryId = deliveryId;
+        this.orderNumber = orderNumber;
+        this.status = status;
     }
 
     public String getDeliveryId() {
@@ -19,4 +35,11 @@ public class DeliveryCreatedEvent extends DomainEvent {
     public String getOrderNumber() {
         return orderNumber;
     }
-} 
\ No newline at end of file
+
+    /**
+     * @return el estado con el que se creó la entrega
+     */
+    public DeliveryStatus getStatus() {
+        return status;
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.hexagonalorders.domain.event;
 
 import com.example.hexagonalorders.domain.model.DeliveryStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
 /**
  * Evento de dominio que se genera cuando cambia el estado de una entrega.
  * Este evento representa un hecho significativo en el dominio de entregas.
@@ -14,6 +17,12 @@ public class DeliveryStatusChangedEvent extends DomainEvent {
         this.newStatus = newStatus;
     }
 
+    public DeliveryStatusChangedEvent(UUID eventId, LocalDateTime occurredOn, String deliveryId, DeliveryStatus newStatus) {
+        super(eventId, occurredOn);
+        this.deliveryId = deliveryId;
+        this.newStatus = newStatus;
+    }
+
     public String getDeliveryId() {
         return deliveryId;
     }
@@ -1,5 +1,7 @@
 package com.example.hexagonalorders.domain.event;
 
+import com.example.hexagonalorders.domain.service.TimeOrderedIdGenerator;
+
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -8,14 +10,25 @@ import java.util.UUID;
  * This provides common functionality and metadata for all domain events.
  */
 public abstract class DomainEvent {
+    // Los eventos se crean dentro de los agregados, sin acceso a beans; su id no es clave de ningún índice
+    private static final TimeOrderedIdGenerator EVENT_IDS = TimeOrderedIdGenerator.withRandomNodeId();
+
     private final UUID eventId;
     private final LocalDateTime occurredOn;
 
     protected DomainEvent() {
-        this.eventId = UUID.randomUUID();
+        this.eventId = EVENT_IDS.nextUuid();
         this.occurredOn = LocalDateTime.now();
     }
 
+    /**
+     * Restores the metadata of an event that already happened, e.g. when decoding it.
+     */
+    protected DomainEvent(UUID eventId, LocalDateTime occurredOn) {
+        this.eventId = eventId;
+        this.occurredOn = occurredOn;
+    }
+
     public UUID getEventId() {
         return eventId;
     }
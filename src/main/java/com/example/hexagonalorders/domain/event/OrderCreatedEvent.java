@@ -1,18 +1,54 @@
 package com.example.hexagonalorders.domain.event;
 
+import com.example.hexagonalorders.domain.model.OrderItem;
+import com.example.hexagonalorders.domain.model.OrderStatus;
 import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
 /**
  * Event raised when a new order is created.
+ * Besides identifying the order, it carries the state the order was created with,
+ * so read models can be built from the event alone.
  */
 public class OrderCreatedEvent extends DomainEvent {
     private final Long orderId;
     private final OrderNumber orderNumber;
+    private final String customerId;
+    private final LocalDateTime orderDate;
+    private final OrderStatus status;
+    private final int itemCount;
+    private final BigDecimal totalAmount;
+    private final List<OrderItem> items;
 
-    public OrderCreatedEvent(Long orderId, OrderNumber orderNumber) {
+    public OrderCreatedEvent(Long orderId, OrderNumber orderNumber, String customerId, LocalDateTime orderDate,
+                             OrderStatus status, int itemCount, BigDecimal totalAmount, List<OrderItem> items) {
         super();
         this.orderId = orderId;
         this.orderNumber = orderNumber;
+        this.customerId = customerId;
+        this.orderDate = orderDate;
+        this.status = status;
+        this.itemCount = itemCount;
+        this.totalAmount = totalAmount;
+        this.items = List.copyOf(items);
+    }
+
+    public OrderCreatedEvent(UUID eventId, LocalDateTime occurredOn, Long orderId, OrderNumber orderNumber,
+                             String customerId, LocalDateTime orderDate, OrderStatus status,
+                             int itemCount, BigDecimal totalAmount, List<OrderItem> items) {
+        super(eventId, occurredOn);
+        this.orderId = orderId;
+        this.orderNumber = orderNumber;
+        this.customerId = customerId;
+        this.orderDate = orderDate;
+        this.status = status;
+        this.itemCount = itemCount;
+        this.totalAmount = totalAmount;
+        this.items = List.copyOf(items);
     }
 
     public Long getOrderId() {
@@ -22,4 +58,38 @@ public class OrderCreatedEvent extends DomainEvent {
     public OrderNumber getOrderNumber() {
         return orderNumber;
     }
-} 
\ No newline at end of file
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the number of items the order was created with
+     */
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    /**
+     * @return the sum of quantity times unit price over the items the order was created with
+     */
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    /**
+     * @return the items the order was created with; empty for an event decoded from the
+     *         outbox, which carries only the item count and total
+     */
+    public List<OrderItem> getItems() {
+        return items;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.hexagonalorders.domain.event;
+
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Event raised when an order is deleted.
+ */
+public class OrderDeletedEvent extends DomainEvent {
+    private final OrderNumber orderNumber;
+
+    public OrderDeletedEvent(OrderNumber orderNumber) {
+        super();
+        this.orderNumber = orderNumber;
+    }
+
+    public OrderDeletedEvent(UUID eventId, LocalDateTime occurredOn, OrderNumber orderNumber) {
+        super(eventId, occurredOn);
+        this.orderNumber = orderNumber;
+    }
+
+    public OrderNumber getOrderNumber() {
+        return orderNumber;
+    }
+}
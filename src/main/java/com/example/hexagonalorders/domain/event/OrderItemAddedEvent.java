@@ -1,29 +1,54 @@
 package com.example.hexagonalorders.domain.event;
 
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
 import com.example.hexagonalorders.domain.model.valueobject.ProductNumber;
 import com.example.hexagonalorders.domain.model.valueobject.Quantity;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
 /**
  * Event raised when an item is added to an order.
  */
 public class OrderItemAddedEvent extends DomainEvent {
     private final Long orderId;
+    private final OrderNumber orderNumber;
     private final Long itemId;
     private final ProductNumber productNumber;
     private final Quantity quantity;
+    private final BigDecimal unitPrice;
 
-    public OrderItemAddedEvent(Long orderId, Long itemId, ProductNumber productNumber, Quantity quantity) {
+    public OrderItemAddedEvent(Long orderId, OrderNumber orderNumber, Long itemId, ProductNumber productNumber,
+                               Quantity quantity, BigDecimal unitPrice) {
         super();
         this.orderId = orderId;
+        this.orderNumber = orderNumber;
         this.itemId = itemId;
         this.productNumber = productNumber;
         this.quantity = quantity;
+        this.unitPrice = unitPrice;
+    }
+
+    public OrderItemAddedEvent(UUID eventId, LocalDateTime occurredOn, Long orderId, OrderNumber orderNumber,
+                               Long itemId, ProductNumber productNumber, Quantity quantity, BigDecimal unitPrice) {
+        super(eventId, occurredOn);
+        this.orderId = orderId;
+        this.orderNumber = orderNumber;
+        this.itemId = itemId;
+        this.productNumber = productNumber;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
     }
 
     public Long getOrderId() {
         return orderId;
     }
 
+    public OrderNumber getOrderNumber() {
+        return orderNumber;
+    }
+
     public Long getItemId() {
         return itemId;
     }
@@ -35,4 +60,8 @@ public class OrderItemAddedEvent extends DomainEvent {
     public Quantity getQuantity() {
         return quantity;
     }
-} 
\ No newline at end of file
+
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.hexagonalorders.domain.exception;
+
+/**
+ * Thrown when input supplied by a caller of the application is invalid: a request
+ * parameter, or the data of an order or delivery to create or change.
+ *
+ * Other {@link IllegalArgumentException}s signal programming or data errors inside the
+ * application and are not the caller's fault; only this one is answered as a client error.
+ */
+public class InvalidInputException extends IllegalArgumentException {
+
+    public InvalidInputException(String message) {
+        super(message);
+    }
+
+    public InvalidInputException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -12,7 +12,11 @@ import com.example.hexagonalorders.domain.model.valueobject.DeliveryDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 /**
  * Aggregate root representing a Delivery in the delivery domain.
  * This class encapsulates the business logic and rules related to deliveries.
@@ -27,12 +31,31 @@ import java.util.List;
  * - Domain events
  */
 public class Delivery {
+    /**
+     * The statuses a delivery may move to each status from. The business actions below
+     * enforce these rules, and the persistence layer uses them to make a status change
+     * conditional on the stored status.
+     */
+    private static final Map<DeliveryStatus, Set<DeliveryStatus>> ALLOWED_SOURCES = new EnumMap<>(DeliveryStatus.class);
+
+    static {
+        for (DeliveryStatus target : DeliveryStatus.values()) {
+            ALLOWED_SOURCES.put(target, EnumSet.noneOf(DeliveryStatus.class));
+        }
+        ALLOWED_SOURCES.put(DeliveryStatus.SCHEDULED, EnumSet.complementOf(EnumSet.of(DeliveryStatus.CANCELLED)));
+        ALLOWED_SOURCES.put(DeliveryStatus.CONFIRMED, EnumSet.complementOf(EnumSet.of(DeliveryStatus.CANCELLED)));
+        ALLOWED_SOURCES.put(DeliveryStatus.IN_TRANSIT, EnumSet.of(DeliveryStatus.CONFIRMED));
+        ALLOWED_SOURCES.put(DeliveryStatus.COMPLETED, EnumSet.of(DeliveryStatus.IN_TRANSIT));
+        ALLOWED_SOURCES.put(DeliveryStatus.CANCELLED, EnumSet.complementOf(EnumSet.of(DeliveryStatus.COMPLETED)));
+    }
+
     private final DeliveryId deliveryId;
     private final OrderNumber orderNumber;
     private final DeliveryAddress deliveryAddress;
     private DeliveryDate scheduledDate;
     private DeliveryStatus status;
     private String deliveryNotes;
+    private Long version;
     private final List<DomainEvent> domainEvents = new ArrayList<>();
 
     public Delivery(DeliveryId deliveryId, OrderNumber orderNumber, DeliveryAddress deliveryAddress, 
@@ -61,7 +84,16 @@ public class Delivery {
         this.deliveryNotes = deliveryNotes;
         
         // Add domain event for delivery creation
-        domainEvents.add(new DeliveryCreatedEvent(deliveryId.value(), orderNumber.value()));
+        domainEvents.add(new DeliveryCreatedEvent(deliveryId.value(), orderNumber.value(), status));
+    }
+
+    /**
+     * Reconstituye una entrega almacenada junto con su versión.
+     */
+    public Delivery(DeliveryId deliveryId, OrderNumber orderNumber, DeliveryAddress deliveryAddress,
+                   DeliveryDate scheduledDate, DeliveryStatus status, String deliveryNotes, Long version) {
+        this(deliveryId, orderNumber, deliveryAddress, scheduledDate, status, deliveryNotes);
+        this.version = version;
     }
 
     // Getters
@@ -72,6 +104,13 @@ public class Delivery {
         return orderNumber;
     }
 
+    /**
+     * @return la versión con la que se leyó la entrega; null si aún no se ha guardado
+     */
+    public Long getVersion() {
+        return version;
+    }
+
     public DeliveryAddress getDeliveryAddress() {
         return deliveryAddress;
     }
@@ -94,6 +133,17 @@ public class Delivery {
     public void clearDomainEvents() {
         domainEvents.clear();
     }
+
+    /**
+     * Returns the statuses from which a delivery may move to the given status.
+     */
+    public static Set<DeliveryStatus> allowedSourcesFor(DeliveryStatus target) {
+        return Collections.unmodifiableSet(ALLOWED_SOURCES.get(target));
+    }
+
+    private boolean canMoveTo(DeliveryStatus target) {
+        return ALLOWED_SOURCES.get(target).contains(status);
+    }
     /**
      * Schedules the delivery for a specific date and time.
      * This represents the business action of scheduling a delivery.
@@ -103,7 +153,7 @@ public class Delivery {
             throw new IllegalArgumentException("Scheduled date cannot be null");
         }
         
-        if (status == DeliveryStatus.CANCELLED) {
+        if (!canMoveTo(DeliveryStatus.SCHEDULED)) {
             throw new IllegalStateException("Cannot schedule a cancelled delivery");
         }
         
@@ -118,7 +168,7 @@ public class Delivery {
      * This represents the business action of confirming delivery preparation.
      */
     public void confirmDelivery() {
-        if (status == DeliveryStatus.CANCELLED) {
+        if (!canMoveTo(DeliveryStatus.CONFIRMED)) {
             throw new IllegalStateException("Cannot confirm a cancelled delivery");
         }
         
@@ -131,7 +181,7 @@ public class Delivery {
      * This represents the business action of starting the delivery process.
      */
     public void startDelivery() {
-        if (status != DeliveryStatus.CONFIRMED) {
+        if (!canMoveTo(DeliveryStatus.IN_TRANSIT)) {
             throw new IllegalStateException("Delivery must be confirmed before starting");
         }
         
@@ -144,7 +194,7 @@ public class Delivery {
      * This represents the business action of completing the delivery.
      */
     public void completeDelivery() {
-        if (status != DeliveryStatus.IN_TRANSIT) {
+        if (!canMoveTo(DeliveryStatus.COMPLETED)) {
             throw new IllegalStateException("Delivery must be in transit before completing");
         }
         
@@ -157,7 +207,7 @@ public class Delivery {
      * This represents the business action of cancelling a delivery.
      */
     public void cancelDelivery() {
-        if (status == DeliveryStatus.COMPLETED) {
+        if (!canMoveTo(DeliveryStatus.CANCELLED)) {
             throw new IllegalStateException("Cannot cancel a completed delivery");
         }
         
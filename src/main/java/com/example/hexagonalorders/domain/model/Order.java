@@ -4,6 +4,7 @@ import com.example.hexagonalorders.domain.event.DomainEvent;
 import com.example.hexagonalorders.domain.event.OrderCreatedEvent;
 import com.example.hexagonalorders.domain.event.OrderItemAddedEvent;
 import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -52,7 +53,7 @@ public class Order {
         this.items = items;
         this.status = status;
         // Add domain event for order creation
-        domainEvents.add(new OrderCreatedEvent(null, orderNumber));
+        domainEvents.add(new OrderCreatedEvent(null, orderNumber, customerId, orderDate, status, items.size(), getTotalAmount(), items));
     }
 
     public OrderNumber getOrderNumber() {
@@ -75,6 +76,17 @@ public class Order {
         return status;
     }
 
+    /**
+     * @return the sum of the amounts of all items
+     */
+    public BigDecimal getTotalAmount() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItem item : items) {
+            total = total.add(item.getAmount());
+        }
+        return total;
+    }
+
     public List<DomainEvent> getDomainEvents() {
         return Collections.unmodifiableList(domainEvents);
     }
@@ -94,7 +106,7 @@ public class Order {
         }
         // TODO: Enforce business rules here (e.g., no duplicate products, min/max quantity, etc.)
         this.items.add(item);
-        domainEvents.add(new OrderItemAddedEvent(orderId, itemId, item.getProductNumber(), item.getQuantity()));
+        domainEvents.add(new OrderItemAddedEvent(orderId, orderNumber, itemId, item.getProductNumber(), item.getQuantity(), item.getUnitPrice()));
     }
 
     /**
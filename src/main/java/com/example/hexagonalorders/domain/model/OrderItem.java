@@ -38,4 +38,11 @@ public class OrderItem {
         return unitPrice;
     }
 
+    /**
+     * @return the quantity times the unit price
+     */
+    public BigDecimal getAmount() {
+        return unitPrice.multiply(BigDecimal.valueOf(quantity.value()));
+    }
+
 } 
\ No newline at end of file
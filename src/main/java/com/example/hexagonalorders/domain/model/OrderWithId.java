@@ -0,0 +1,38 @@
+package com.example.hexagonalorders.domain.model;
+
+/**
+ * An order together with the technical identifier it was stored under.
+ * The identifier is what keyset pagination orders by, so listing operations
+ * of the persistence port return it alongside the order. The version is the
+ * one the order had when it was read, or null when it is not known.
+ */
+public class OrderWithId {
+    private final Order order;
+    private final Long id;
+    private final Long version;
+
+    public OrderWithId(Order order, Long id) {
+        this(order, id, null);
+    }
+
+    public OrderWithId(Order order, Long id, Long version) {
+        this.order = order;
+        this.id = id;
+        this.version = version;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return the version of the stored order, incremented by every update; null if not known
+     */
+    public Long getVersion() {
+        return version;
+    }
+}
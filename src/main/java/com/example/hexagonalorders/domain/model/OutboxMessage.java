@@ -8,22 +8,27 @@ public record OutboxMessage(
     String aggregateType,
     UUID aggregateId,
     String eventType,
-    String payload,
+    byte[] payload,
     Status status,
     Instant createdAt,
-    Instant processedAt
+    Instant processedAt,
+    int attempts,
+    Instant nextAttemptAt
 ) {
     
-    public static OutboxMessage createPendingMessage(String aggregateType, UUID aggregateId, String eventType, String payload) {
+    public static OutboxMessage createPendingMessage(UUID id, String aggregateType, UUID aggregateId, String eventType, byte[] payload) {
+        Instant now = Instant.now();
         return new OutboxMessage(
-            UUID.randomUUID(),
+            id,
             aggregateType,
             aggregateId,
             eventType,
             payload,
             Status.PENDING,
-            Instant.now(),
-            null
+            now,
+            null,
+            0,
+            now
         );
     }
 } 
\ No newline at end of file
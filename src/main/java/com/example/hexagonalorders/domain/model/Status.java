@@ -2,6 +2,8 @@ package com.example.hexagonalorders.domain.model;
 
 public enum Status {
     PENDING,
+    CLAIMED,
     PROCESSED,
-    FAILED
+    FAILED,
+    DEAD_LETTER
 } 
\ No newline at end of file
@@ -1,11 +1,14 @@
 package com.example.hexagonalorders.domain.port.in;
 
 import com.example.hexagonalorders.domain.model.Delivery;
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryDate;
+import com.example.hexagonalorders.domain.port.out.DeliveryQueryRepository.DeliveryView;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Puerto de entrada que define el contrato para las operaciones de entrega.
@@ -29,45 +32,50 @@ public interface DeliveryUseCase {
      * 
      * @param deliveryId el identificador de la entrega
      * @param scheduledDate la nueva fecha programada
+     * @param expectedVersion la versión que debe tener la entrega, o null para no comprobarla
      * @return la entrega actualizada
      */
-    Delivery programarEntrega(DeliveryId deliveryId, DeliveryDate scheduledDate);
+    Delivery programarEntrega(DeliveryId deliveryId, DeliveryDate scheduledDate, Long expectedVersion);
 
     /**
      * Confirma que una entrega está lista para recoger.
      * Esta acción representa la acción de negocio de confirmar la preparación de la entrega.
      * 
      * @param deliveryId el identificador de la entrega
+     * @param expectedVersion la versión que debe tener la entrega, o null para no comprobarla
      * @return la entrega actualizada
      */
-    Delivery confirmarEntrega(DeliveryId deliveryId);
+    Delivery confirmarEntrega(DeliveryId deliveryId, Long expectedVersion);
 
     /**
      * Inicia el proceso de entrega (marca como en tránsito).
      * Esta acción representa la acción de negocio de iniciar la entrega.
      * 
      * @param deliveryId el identificador de la entrega
+     * @param expectedVersion la versión que debe tener la entrega, o null para no comprobarla
      * @return la entrega actualizada
      */
-    Delivery iniciarEntrega(DeliveryId deliveryId);
+    Delivery iniciarEntrega(DeliveryId deliveryId, Long expectedVersion);
 
     /**
      * Completa el proceso de entrega.
      * Esta acción representa la acción de negocio de completar una entrega.
      * 
      * @param deliveryId el identificador de la entrega
+     * @param expectedVersion la versión que debe tener la entrega, o null para no comprobarla
      * @return la entrega actualizada
      */
-    Delivery completarEntrega(DeliveryId deliveryId);
+    Delivery completarEntrega(DeliveryId deliveryId, Long expectedVersion);
 
     /**
      * Cancela una entrega.
      * Esta acción representa la acción de negocio de cancelar una entrega.
      * 
      * @param deliveryId el identificador de la entrega
+     * @param expectedVersion la versión que debe tener la entrega, o null para no comprobarla
      * @return la entrega actualizada
      */
-    Delivery cancelarEntrega(DeliveryId deliveryId);
+    Delivery cancelarEntrega(DeliveryId deliveryId, Long expectedVersion);
 
     /**
      * Recupera una entrega por su identificador.
@@ -91,4 +99,43 @@ public interface DeliveryUseCase {
      * @return lista de entregas con el estado especificado
      */
     List<Delivery> obtenerEntregasPorEstado(String status);
-} 
\ No newline at end of file
+
+    /**
+     * Consulta una entrega por su identificador sin reconstruir el agregado.
+     * 
+     * @param deliveryId el identificador de la entrega
+     * @return el modelo de lectura de la entrega si se encuentra
+     */
+    Optional<DeliveryView> consultarEntrega(DeliveryId deliveryId);
+
+    /**
+     * Consulta solo la versión de una entrega, sin leer el resto de sus datos.
+     * 
+     * @param deliveryId el identificador de la entrega
+     * @return la versión de la entrega si se encuentra
+     */
+    Optional<Long> consultarVersionEntrega(DeliveryId deliveryId);
+
+    /**
+     * Consulta todas las entregas sin reconstruir los agregados.
+     * 
+     * @return lista de modelos de lectura de todas las entregas
+     */
+    List<DeliveryView> consultarTodasLasEntregas();
+
+    /**
+     * Consulta entregas por estado sin reconstruir los agregados.
+     * 
+     * @param status el estado de la entrega por el que filtrar
+     * @return lista de modelos de lectura de las entregas con el estado especificado
+     */
+    List<DeliveryView> consultarEntregasPorEstado(String status);
+
+    /**
+     * Recorre las entregas sin acumularlas en memoria, para exportaciones completas.
+     * 
+     * @param status el estado por el que filtrar, o null para todas
+     * @param consumer recibe cada entrega a medida que se lee
+     */
+    void exportarEntregas(DeliveryStatus status, Consumer<DeliveryView> consumer);
+}
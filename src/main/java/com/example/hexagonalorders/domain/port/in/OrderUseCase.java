@@ -2,6 +2,9 @@ package com.example.hexagonalorders.domain.port.in;
 
 import com.example.hexagonalorders.domain.model.Order;
 import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import com.example.hexagonalorders.domain.port.out.OrderQueryRepository.OrderSearch;
+import com.example.hexagonalorders.domain.port.out.OrderQueryRepository.OrderView;
+import com.example.hexagonalorders.domain.port.out.OrderQueryRepository.SearchCursor;
 import com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper.OrderCreationData;
 
 import java.util.List;
@@ -20,6 +23,14 @@ public interface OrderUseCase {
      */
     Order createOrder(OrderCreationData orderData);
 
+    /**
+     * Creates several orders in a single transaction. Every order is validated before
+     * anything is written, so either all of them are created or none is.
+     * @param ordersData the data of the orders to create (without order numbers)
+     * @return the created orders, in the same order
+     */
+    List<Order> createOrders(List<OrderCreationData> ordersData);
+
     /**
      * Retrieves an order by its order number
      * @param orderNumber the order number
@@ -33,6 +44,15 @@ public interface OrderUseCase {
      */
     List<Order> getAllOrders();
 
+    /**
+     * Searches orders sorted by order date, one page at a time
+     * @param search the criteria the orders must match and the sort direction
+     * @param after the position of the last order of the previous page, or null for the first page
+     * @param limit the maximum number of orders to return
+     * @return the read models of the orders of the page
+     */
+    List<OrderView> searchOrders(OrderSearch search, SearchCursor after, int limit);
+
     /**
      * Deletes an order by its order number
      * @param orderNumber the order number
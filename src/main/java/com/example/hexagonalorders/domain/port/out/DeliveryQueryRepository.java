@@ -0,0 +1,67 @@
+package com.example.hexagonalorders.domain.port.out;
+
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Puerto de salida para las consultas de entregas.
+ * A diferencia de {@link DeliveryRepository}, no reconstruye el agregado
+ * {@link com.example.hexagonalorders.domain.model.Delivery}: devuelve modelos de lectura
+ * planos e inmutables, llenados directamente desde la consulta.
+ */
+public interface DeliveryQueryRepository {
+
+    /**
+     * Busca una entrega por su identificador.
+     *
+     * @param deliveryId el identificador de la entrega
+     * @return la entrega si se encuentra
+     */
+    Optional<DeliveryView> findById(String deliveryId);
+
+    /**
+     * Lee solo la versión de una entrega, sin cargarla.
+     *
+     * @param deliveryId el identificador de la entrega
+     * @return la versión de la entrega si se encuentra
+     */
+    Optional<Long> findVersion(String deliveryId);
+
+    /**
+     * Busca todas las entregas.
+     *
+     * @return lista de todas las entregas
+     */
+    List<DeliveryView> findAll();
+
+    /**
+     * Busca entregas por estado.
+     *
+     * @param status el estado de la entrega por el que filtrar
+     * @return lista de entregas con el estado especificado
+     */
+    List<DeliveryView> findByStatus(DeliveryStatus status);
+
+    /**
+     * Recorre las entregas en orden de creación, entregando cada una al consumidor
+     * a medida que se lee, sin acumular el resultado en memoria.
+     *
+     * @param status el estado por el que filtrar, o null para todas
+     * @param consumer recibe cada entrega
+     */
+    void forEach(DeliveryStatus status, Consumer<DeliveryView> consumer);
+
+    /**
+     * Modelo de lectura de una entrega, con la versión que tenía al leerla.
+     * Los campos que no se guardan llevan los mismos valores que la entrega reconstruida
+     * por {@link DeliveryRepository}.
+     */
+    record DeliveryView(String deliveryId, String orderNumber, String street, String city, String state,
+                        String postalCode, String country, DeliveryStatus status, LocalDateTime scheduledDate,
+                        String deliveryNotes, Long version) {
+    }
+}
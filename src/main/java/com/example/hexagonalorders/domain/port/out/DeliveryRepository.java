@@ -2,9 +2,11 @@ package com.example.hexagonalorders.domain.port.out;
 
 import com.example.hexagonalorders.domain.model.Delivery;
 import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryDate;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Puerto de salida que define el contrato para las operaciones de persistencia de entregas.
@@ -20,6 +22,22 @@ public interface DeliveryRepository {
      * @return la entrega guardada
      */
     Delivery save(Delivery delivery);
+
+    /**
+     * Cambia el estado de una entrega en una única actualización condicionada a su estado
+     * actual, de modo que dos cambios concurrentes no pueden aplicarse ambos sobre el mismo
+     * estado de origen. La versión de la entrega se incrementa.
+     * 
+     * @param deliveryId el identificador de la entrega
+     * @param allowedSources los estados desde los que se permite el cambio
+     * @param target el nuevo estado
+     * @param scheduledDate la nueva fecha programada, o null para conservar la actual
+     * @param expectedVersion la versión que debe tener la entrega, o null para no comprobarla
+     * @return true si la entrega se actualizó; false si no existe, su estado no es uno de los
+     *         de origen o no tiene la versión esperada
+     */
+    boolean transition(DeliveryId deliveryId, Set<DeliveryStatus> allowedSources, DeliveryStatus target,
+                       DeliveryDate scheduledDate, Long expectedVersion);
     
     /**
      * Busca una entrega por su identificador.
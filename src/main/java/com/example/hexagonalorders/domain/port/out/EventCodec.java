@@ -0,0 +1,34 @@
+package com.example.hexagonalorders.domain.port.out;
+
+import com.example.hexagonalorders.domain.event.DomainEvent;
+import com.example.hexagonalorders.domain.event.OrderCreatedEvent;
+
+/**
+ * Output port defining how domain events are turned into bytes and back.
+ * The encoded form is what is stored in the outbox and handed to the
+ * message publisher, so implementations must be able to decode everything
+ * they ever encoded, including payloads written by older versions.
+ *
+ * Decoding an encoded event gives back an equal event, with one exception: the
+ * items of an {@link OrderCreatedEvent} are not part of the encoded form. They are
+ * only needed by in-process listeners, and a large order would not fit the outbox
+ * payload; the decoded event keeps the item count and total and has no items.
+ */
+public interface EventCodec {
+    /**
+     * Encodes a domain event.
+     * @param event the event to encode
+     * @return the encoded event
+     * @throws IllegalArgumentException if the event type is not supported
+     */
+    byte[] encode(DomainEvent event);
+
+    /**
+     * Decodes an event previously produced by {@link #encode(DomainEvent)}.
+     * @param payload the encoded event
+     * @return the decoded event, equal to the encoded one except for the items of an
+     *         {@link OrderCreatedEvent}, which are always empty
+     * @throws IllegalArgumentException if the payload is malformed or of an unknown type or version
+     */
+    DomainEvent decode(byte[] payload);
+}
@@ -0,0 +1,43 @@
+package com.example.hexagonalorders.domain.port.out;
+
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Output port remembering which order was created for each client-supplied idempotency key.
+ */
+public interface IdempotencyKeyRepository {
+
+    /**
+     * @param key the idempotency key sent by the client
+     * @return the order created for the key and the fingerprint of its request, if any
+     */
+    Optional<RecordedKey> find(String key);
+
+    /**
+     * Records the order created for a key in the current transaction.
+     * Fails if the key is already recorded, so two concurrent requests with the same key
+     * cannot both create an order.
+     *
+     * @param key the idempotency key sent by the client
+     * @param requestHash the fingerprint of the request that created the order
+     * @param orderNumber the number of the created order
+     */
+    void save(String key, String requestHash, OrderNumber orderNumber);
+
+    /**
+     * Forgets the keys recorded before the given instant.
+     *
+     * @return the number of keys removed
+     */
+    int deleteCreatedBefore(Instant cutoff);
+
+    /**
+     * @param orderNumber the number of the order created for the key
+     * @param requestHash the fingerprint of the request that created it
+     */
+    record RecordedKey(OrderNumber orderNumber, String requestHash) {
+    }
+}
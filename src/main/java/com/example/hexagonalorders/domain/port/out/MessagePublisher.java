@@ -1,5 +1,44 @@
 package com.example.hexagonalorders.domain.port.out;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 public interface MessagePublisher {
-    void publish(String topic, String payload);
-} 
\ No newline at end of file
+    void publish(String topic, byte[] payload);
+    
+    /**
+     * Publishes a batch of messages without waiting for each one to be acknowledged.
+     * Implementations backed by a broker should pipeline the whole batch and complete
+     * each future when the broker acknowledges the corresponding message. Messages with
+     * the same key must be delivered in the order they appear in the batch.
+     *
+     * The default implementation publishes the messages one by one through
+     * {@link #publish(String, byte[])}.
+     *
+     * @param messages the messages to publish
+     * @return one future per message, in the same order as {@code messages}
+     */
+    default List<CompletableFuture<Void>> publishAll(List<Message> messages) {
+        List<CompletableFuture<Void>> results = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                publish(message.topic(), message.payload());
+                results.add(CompletableFuture.completedFuture(null));
+            } catch (Exception e) {
+                results.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * A message to publish.
+     *
+     * @param topic the destination topic
+     * @param key the ordering key; messages sharing a key keep their relative order
+     * @param payload the encoded message body
+     */
+    record Message(String topic, String key, byte[] payload) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.hexagonalorders.domain.port.out;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Output port keeping the intake status of orders submitted asynchronously, so it can be
+ * polled from any node and survives a restart.
+ */
+public interface OrderIntakeStatusRepository {
+
+    /**
+     * Records that an order was accepted and is waiting to be created.
+     *
+     * @param orderNumber the number assigned to the order
+     */
+    void saveAccepted(String orderNumber);
+
+    /**
+     * @param orderNumbers the numbers of the orders that were created
+     */
+    void markCreated(Collection<String> orderNumbers);
+
+    /**
+     * @param orderNumber the number of the order that could not be created
+     * @param error why it could not be created
+     */
+    void markFailed(String orderNumber, String error);
+
+    /**
+     * Forgets an order that was accepted but could not be queued after all.
+     *
+     * @param orderNumber the number assigned to the order
+     */
+    void delete(String orderNumber);
+
+    /**
+     * @param orderNumber the number assigned to the order
+     * @return the intake status of the order, if it is known
+     */
+    Optional<IntakeStatus> find(String orderNumber);
+
+    /**
+     * Forgets the created and failed orders whose status last changed before the given instant.
+     *
+     * @return the number of statuses removed
+     */
+    int deleteFinishedBefore(Instant cutoff);
+
+    enum IntakeState {
+        ACCEPTED, CREATED, FAILED
+    }
+
+    /**
+     * Outcome of an accepted order.
+     *
+     * @param state where the order is in the intake pipeline
+     * @param error why the order could not be created, if it failed
+     * @param updatedAt when the state was last changed
+     */
+    record IntakeStatus(IntakeState state, String error, Instant updatedAt) {
+    }
+}
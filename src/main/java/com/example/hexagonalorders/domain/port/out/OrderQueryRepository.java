@@ -0,0 +1,108 @@
+package com.example.hexagonalorders.domain.port.out;
+
+import com.example.hexagonalorders.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Output port for the read side of orders.
+ * Unlike {@link OrderRepository}, it does not rebuild {@link com.example.hexagonalorders.domain.model.Order}
+ * aggregates: results are flat, immutable read models filled straight from the query,
+ * meant to be turned into responses and discarded.
+ */
+public interface OrderQueryRepository {
+    /**
+     * Checks whether an order exists
+     * @param orderNumber the order number
+     * @return true if an order with that number exists
+     */
+    boolean existsByOrderNumber(String orderNumber);
+
+    /**
+     * Reads only the version of an order, without loading it
+     * @param orderNumber the order number
+     * @return the version of the order if it exists
+     */
+    Optional<Long> findVersion(String orderNumber);
+
+    /**
+     * Retrieves a page of orders by keyset pagination on the order id
+     * @param filter the criteria the orders must match
+     * @param afterId only orders with a greater id are returned; null for the first page
+     * @param limit the maximum number of orders to return
+     * @return the matching orders in ascending id order
+     */
+    List<OrderView> findPage(OrderFilter filter, Long afterId, int limit);
+
+    /**
+     * Reads every matching order in ascending id order through a forward-only cursor,
+     * handing each one to the consumer as soon as it is read. Memory use does not
+     * depend on the number of orders.
+     * @param filter the criteria the orders must match
+     * @param consumer receives the orders one by one
+     */
+    void forEach(OrderFilter filter, Consumer<OrderView> consumer);
+
+    /**
+     * Retrieves a page of orders sorted by order date, by keyset pagination on the order date and id
+     * @param search the criteria the orders must match and the sort direction
+     * @param after the position of the last order of the previous page; null for the first page
+     * @param limit the maximum number of orders to return
+     * @return the matching orders sorted by order date, then by id in the same direction
+     */
+    List<OrderView> search(OrderSearch search, SearchCursor after, int limit);
+
+    /**
+     * Criteria for listing orders. Null fields do not restrict the result.
+     *
+     * @param customerId the customer the orders belong to
+     * @param status the status of the orders
+     * @param from the earliest order date, inclusive
+     * @param to the latest order date, exclusive
+     */
+    record OrderFilter(String customerId, OrderStatus status, LocalDateTime from, LocalDateTime to) {
+    }
+
+    /**
+     * Criteria for searching orders. Null fields and an empty status set do not restrict the result.
+     *
+     * @param customerId the customer the orders belong to
+     * @param statuses the statuses the orders may have
+     * @param from the earliest order date, inclusive
+     * @param to the latest order date, exclusive
+     * @param newestFirst whether the most recent orders come first
+     */
+    record OrderSearch(String customerId, Set<OrderStatus> statuses, LocalDateTime from, LocalDateTime to,
+                       boolean newestFirst) {
+        public OrderSearch {
+            statuses = statuses == null ? Set.of() : Set.copyOf(statuses);
+        }
+    }
+
+    /**
+     * Position of an order in a search sorted by order date.
+     *
+     * @param orderDate the order date of the order
+     * @param id the id of the order, which breaks ties between orders placed at the same time
+     */
+    record SearchCursor(LocalDateTime orderDate, Long id) {
+    }
+
+    /**
+     * Read model of an order.
+     */
+    record OrderView(Long id, String orderNumber, String customerId, LocalDateTime orderDate,
+                     OrderStatus status, List<OrderItemView> items) {
+    }
+
+    /**
+     * Read model of an order item.
+     */
+    record OrderItemView(Long id, String productNumber, int quantity, BigDecimal unitPrice) {
+    }
+}
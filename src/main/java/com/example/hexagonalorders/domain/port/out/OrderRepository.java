@@ -1,6 +1,7 @@
 package com.example.hexagonalorders.domain.port.out;
 
 import com.example.hexagonalorders.domain.model.Order;
+import com.example.hexagonalorders.domain.model.OrderWithId;
 import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
 
 import java.util.List;
@@ -19,6 +20,27 @@ public interface OrderRepository {
      */
     Order save(Order order);
 
+    /**
+     * Saves an order
+     * @param order the order to save
+     * @return the saved order with its id
+     */
+    OrderWithId saveWithId(Order order);
+
+    /**
+     * Saves all the given orders in the current transaction
+     * @param orders the orders to save
+     * @return the saved orders, in the same order
+     */
+    List<Order> saveAll(List<Order> orders);
+
+    /**
+     * Saves all the given orders in the current transaction
+     * @param orders the orders to save
+     * @return the saved orders with their ids, in the same order
+     */
+    List<OrderWithId> saveAllWithId(List<Order> orders);
+
     /**
      * Finds an order by its order number
      * @param orderNumber the order number
@@ -26,6 +48,13 @@ public interface OrderRepository {
      */
     Optional<Order> findByOrderNumber(OrderNumber orderNumber);
 
+    /**
+     * Finds an order by its order number
+     * @param orderNumber the order number
+     * @return the order with its id if found
+     */
+    Optional<OrderWithId> findByOrderNumberWithId(OrderNumber orderNumber);
+
     /**
      * Retrieves all orders
      * @return list of all orders
@@ -35,6 +64,16 @@ public interface OrderRepository {
     /**
      * Deletes an order by its order number
      * @param orderNumber the order number
+     * @return true if the order existed and was deleted
+     */
+    boolean deleteByOrderNumber(OrderNumber orderNumber);
+
+    /**
+     * Deletes an order by its order number if it still has the given version
+     * @param orderNumber the order number
+     * @param expectedVersion the version the caller read
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the order does not exist
+     *         or has been updated since that version was read
      */
-    void deleteByOrderNumber(OrderNumber orderNumber);
-} 
\ No newline at end of file
+    void deleteByOrderNumber(OrderNumber orderNumber, long expectedVersion);
+}
@@ -0,0 +1,84 @@
+package com.example.hexagonalorders.domain.port.out;
+
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Output port for the order summary read model: one denormalised row per order with its
+ * item count, total amount and the status of its latest delivery. The write methods
+ * apply one domain event each; the query methods read the summary table alone.
+ */
+public interface OrderSummaryRepository {
+    /**
+     * Adds the summary of a newly created order
+     * @param summary the summary, without delivery
+     */
+    void insert(OrderSummary summary);
+
+    /**
+     * Counts one more item in an order and adds its amount to the total
+     * @param orderNumber the order number
+     * @param amount the quantity times the unit price of the item
+     */
+    void addItem(String orderNumber, BigDecimal amount);
+
+    /**
+     * Makes a delivery the latest one of its order
+     * @param orderNumber the order number
+     * @param deliveryId the delivery id
+     * @param status the status the delivery was created with
+     */
+    void setLatestDelivery(String orderNumber, String deliveryId, DeliveryStatus status);
+
+    /**
+     * Updates the delivery status of the order whose latest delivery is the given one.
+     * Changes of older deliveries of the order are ignored.
+     * @param deliveryId the delivery id
+     * @param status the new status of the delivery
+     */
+    void updateDeliveryStatus(String deliveryId, DeliveryStatus status);
+
+    /**
+     * Removes the summary of a deleted order
+     * @param orderNumber the order number
+     */
+    void delete(String orderNumber);
+
+    /**
+     * Finds the summary of an order
+     * @param orderNumber the order number
+     * @return the summary if found
+     */
+    Optional<OrderSummary> findByOrderNumber(String orderNumber);
+
+    /**
+     * Retrieves a page of summaries by keyset pagination on the order number
+     * @param customerId only summaries of this customer; null for all
+     * @param deliveryStatus only summaries whose latest delivery has this status; null for all
+     * @param afterOrderNumber only summaries with a greater order number are returned; null for the first page
+     * @param limit the maximum number of summaries to return
+     * @return the matching summaries in ascending order number
+     */
+    List<OrderSummary> findPage(String customerId, DeliveryStatus deliveryStatus, String afterOrderNumber, int limit);
+
+    /**
+     * Replaces every summary with one recomputed from the orders, items and deliveries tables
+     * @return the number of summaries written
+     */
+    int rebuild();
+
+    /**
+     * Read model of an order summary.
+     *
+     * @param latestDeliveryId the most recently created delivery of the order, or null if it has none
+     * @param deliveryStatus the status of that delivery, or null if the order has none
+     */
+    record OrderSummary(String orderNumber, String customerId, LocalDateTime orderDate, OrderStatus status,
+                        int itemCount, BigDecimal totalAmount, String latestDeliveryId, DeliveryStatus deliveryStatus) {
+    }
+}
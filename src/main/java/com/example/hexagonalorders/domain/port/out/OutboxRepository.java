@@ -2,16 +2,92 @@ package com.example.hexagonalorders.domain.port.out;
 
 import com.example.hexagonalorders.domain.model.OutboxMessage;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface OutboxRepository {
     
     void save(OutboxMessage outboxMessage);
     
-    List<OutboxMessage> findPending(int limit);
+    /**
+     * Saves all the given messages in the current transaction, writing them in JDBC batches.
+     *
+     * @param outboxMessages the messages to save
+     */
+    void saveAll(List<OutboxMessage> outboxMessages);
     
-    void markProcessed(UUID id);
+    /**
+     * Claims up to {@code limit} due messages for the given owner.
+     * Claimed messages are leased: if the owner does not acknowledge them before
+     * the lease expires, any other owner may claim them again, and that counts as a
+     * failed attempt. A message is not claimed while an earlier message of the same
+     * aggregate is waiting for a retry or leased to another owner.
+     *
+     * @param ownerId the identifier of the node claiming the messages
+     * @param limit the maximum number of messages to claim
+     * @param leaseDuration how long the claim stays valid
+     * @return the claimed messages, oldest first
+     */
+    List<OutboxMessage> claimPending(String ownerId, int limit, Duration leaseDuration);
     
-    void markFailed(UUID id);
-} 
\ No newline at end of file
+    /**
+     * Marks every given message as PROCESSED with a single set-based update.
+     * Only messages still claimed by {@code ownerId} are updated: a message whose lease
+     * expired and was claimed again by another owner is left to that owner.
+     *
+     * @param ownerId the owner that claimed the messages
+     * @param ids the identifiers of the published messages
+     * @return the number of messages updated
+     */
+    int markAllProcessed(String ownerId, Collection<UUID> ids);
+    
+    /**
+     * Records a failed publishing attempt of every given message with a single update:
+     * each becomes FAILED, its attempt counter is incremented and it will not be due
+     * again before {@code nextAttemptAt}. Messages no longer claimed by {@code ownerId}
+     * are not updated.
+     *
+     * @param ownerId the owner that claimed the messages
+     * @param ids the identifiers of the messages that failed
+     * @param nextAttemptAt the earliest time of the next attempt
+     * @return the number of messages updated
+     */
+    int scheduleRetry(String ownerId, Collection<UUID> ids, Instant nextAttemptAt);
+    
+    /**
+     * Moves every given message to DEAD_LETTER; they are never retried again.
+     * Only messages still claimed by {@code ownerId} are updated.
+     *
+     * @param ownerId the owner that claimed the messages
+     * @param ids the identifiers of the messages that exhausted their attempts
+     * @return the number of messages updated
+     */
+    int markAllDeadLettered(String ownerId, Collection<UUID> ids);
+    
+    /**
+     * Deletes at most {@code limit} PROCESSED messages processed before the cutoff.
+     * Callers purge in small chunks so no single statement holds locks for long.
+     *
+     * @param cutoff messages processed before this instant are deleted
+     * @param limit the maximum number of messages to delete
+     * @return the number of messages deleted
+     */
+    int deleteProcessedBefore(Instant cutoff, int limit);
+    
+    /**
+     * Counts the messages that still have to be published: pending, claimed and
+     * failed messages waiting for a retry.
+     *
+     * @return the size of the backlog
+     */
+    long countBacklog();
+    
+    /**
+     * @return the creation time of the oldest message in the backlog, if any
+     */
+    Optional<Instant> findOldestBacklogCreatedAt();
+}
@@ -0,0 +1,64 @@
+package com.example.hexagonalorders.domain.port.out;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Output port for sales analytics over order items.
+ * Totals are computed by the store itself, so only the aggregated rows leave it.
+ * Revenue is the sum of quantity times unit price; every order counts, whatever its status.
+ */
+public interface SalesStatsRepository {
+
+    /**
+     * What sales are grouped by.
+     */
+    enum Dimension {
+        DAY,
+        PRODUCT,
+        CUSTOMER
+    }
+
+    /**
+     * Computes sales totals over a range of order dates
+     * @param dimension what the totals are grouped by
+     * @param from the earliest order date, inclusive; null for no lower bound
+     * @param to the latest order date, exclusive; null for no upper bound
+     * @param limit the maximum number of totals to return
+     * @return totals by day in ascending date order, or by product or customer in descending revenue order
+     */
+    List<SalesTotal> totals(Dimension dimension, LocalDateTime from, LocalDateTime to, int limit);
+
+    /**
+     * Reads the totals of every day, per key of the dimension, handing each one to the consumer as it is read
+     * @param dimension what the totals are grouped by within each day
+     * @param consumer receives the daily totals
+     */
+    void forEachDailyTotal(Dimension dimension, Consumer<DailyTotal> consumer);
+
+    /**
+     * Sales of one key over a range.
+     *
+     * @param key the day (ISO date), product number or customer id
+     * @param orders the number of orders
+     * @param units the number of units sold
+     * @param revenue the sum of quantity times unit price
+     */
+    record SalesTotal(String key, long orders, long units, BigDecimal revenue) {
+    }
+
+    /**
+     * Sales of one key on one day.
+     *
+     * @param day the order date
+     * @param key the product number or customer id; null for totals by day
+     * @param orders the number of orders
+     * @param units the number of units sold
+     * @param revenue the sum of quantity times unit price
+     */
+    record DailyTotal(LocalDate day, String key, long orders, long units, BigDecimal revenue) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.hexagonalorders.domain.service;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Domain service generating time-ordered, monotonically increasing identifiers.
+ * Identifiers created one after another sort in creation order, so they are appended
+ * at the end of B-tree indexes instead of being scattered across them, and generating
+ * one costs a single compare-and-set instead of a call into a shared {@code SecureRandom}.
+ *
+ * Each identifier has the UUID version 7 layout:
+ * - 48 bits of Unix time in milliseconds
+ * - the version and variant bits
+ * - a 16-bit sequence, split around the version and variant bits
+ * - a 16-bit node id
+ * - 42 random bits
+ *
+ * The timestamp and sequence are kept in one {@link AtomicLong}. When the sequence of a
+ * millisecond is exhausted, or the wall clock moves backwards, the generator keeps counting
+ * on its own clock ahead of the wall clock instead of repeating values, and catches up as
+ * soon as the wall clock passes it again.
+ *
+ * The string form is the 26-character Crockford base32 encoding used by ULIDs, which sorts
+ * the same way as the identifiers.
+ */
+public class TimeOrderedIdGenerator {
+
+    private static final int SEQUENCE_BITS = 16;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int MAX_NODE_ID = 0xFFFF;
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long node;
+    // Marca de tiempo (48 bits) y secuencia (16 bits) del último identificador emitido
+    private final AtomicLong lastState = new AtomicLong();
+
+    /**
+     * @param nodeId the id of this node, between 0 and 65535
+     */
+    public TimeOrderedIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.node = nodeId;
+    }
+
+    /**
+     * @return a generator with a random node id, for ids that need not identify their node
+     */
+    public static TimeOrderedIdGenerator withRandomNodeId() {
+        return new TimeOrderedIdGenerator(ThreadLocalRandom.current().nextInt(MAX_NODE_ID + 1));
+    }
+
+    /**
+     * @return a new identifier, greater than every identifier returned before by this generator
+     */
+    public UUID nextUuid() {
+        long state = nextState();
+        long timestamp = state >>> SEQUENCE_BITS;
+        long sequence = state & SEQUENCE_MASK;
+        long mostSigBits = timestamp << 16 | 0x7000L | sequence >>> 4;
+        long leastSigBits = 0x8000000000000000L
+            | (sequence & 0xF) << 58
+            | node << 42
+            | ThreadLocalRandom.current().nextLong() >>> 22;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * @return a new identifier in its 26-character string form
+     */
+    public String nextString() {
+        return toString(nextUuid());
+    }
+
+    /**
+     * Encodes an identifier as 26 Crockford base32 characters, most significant first.
+     */
+    public static String toString(UUID id) {
+        long high = id.getMostSignificantBits();
+        long low = id.getLeastSignificantBits();
+        char[] chars = new char[26];
+        // 26 grupos de 5 bits; el primero sólo tiene los 3 bits más altos
+        for (int i = 0; i < 26; i++) {
+            int shift = 125 - 5 * i;
+            int value;
+            if (shift >= 64) {
+                value = (int) (high >>> (shift - 64)) & 0x1F;
+            } else if (shift > 59) {
+                value = (int) ((high << (64 - shift)) | (low >>> shift)) & 0x1F;
+            } else {
+                value = (int) (low >>> shift) & 0x1F;
+            }
+            chars[i] = CROCKFORD[value];
+        }
+        return new String(chars);
+    }
+
+    private long nextState() {
+        while (true) {
+            long last = lastState.get();
+            long now = System.currentTimeMillis();
+            long next = now > last >>> SEQUENCE_BITS ? now << SEQUENCE_BITS : last + 1;
+            if (lastState.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.hexagonalorders.infrastructure.config;
 
 import com.example.hexagonalorders.domain.service.OrderValidationService;
+import com.example.hexagonalorders.domain.service.TimeOrderedIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -18,4 +20,13 @@ public class OrderConfiguration {
     public OrderValidationService orderValidationService() {
         return new OrderValidationService();
     }
+
+    /**
+     * Id generator for this node, injected wherever order numbers and outbox message ids
+     * are created. Without {@code ids.node-id} the generator gets a random node id.
+     */
+    @Bean
+    public TimeOrderedIdGenerator timeOrderedIdGenerator(@Value("${ids.node-id:-1}") int nodeId) {
+        return nodeId >= 0 ? new TimeOrderedIdGenerator(nodeId) : TimeOrderedIdGenerator.withRandomNodeId();
+    }
 } 
\ No newline at end of file
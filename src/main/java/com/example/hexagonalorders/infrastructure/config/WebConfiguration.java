@@ -0,0 +1,25 @@
+package com.example.hexagonalorders.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC settings of the REST adapters.
+ *
+ * The NDJSON exports are the only asynchronous handlers, and an export of a large table
+ * takes far longer than the 30 second default of the servlet container. Asynchronous
+ * requests may run for {@code orders.export.timeout-ms} instead; 0 or less removes the limit.
+ */
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    @Value("${orders.export.timeout-ms:600000}")
+    private long exportTimeoutMs;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(exportTimeoutMs);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.hexagonalorders.infrastructure.in.web;
+
+import com.example.hexagonalorders.domain.exception.InvalidInputException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps the exceptions the REST controllers let escape to HTTP responses.
+ *
+ * Invalid request input is rejected with {@link InvalidInputException} wherever it is
+ * found, in the controllers or in the services behind them, and answered here with 400 and
+ * the message of the exception as the detail of the problem. Any other exception, including
+ * other {@link IllegalArgumentException}s, is a server-side failure and stays a 500.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(InvalidInputException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidRequest(InvalidInputException e) {
+        return problem(HttpStatus.BAD_REQUEST, e);
+    }
+
+    private static ResponseEntity<ProblemDetail> problem(HttpStatus status, Exception e) {
+        return ResponseEntity.status(status).body(ProblemDetail.forStatusAndDetail(status, e.getMessage()));
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.hexagonalorders.infrastructure.in.web;
 
+import com.example.hexagonalorders.domain.exception.InvalidInputException;
 import com.example.hexagonalorders.domain.model.Delivery;
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryDate;
 import com.example.hexagonalorders.domain.port.in.DeliveryUseCase;
@@ -11,11 +13,19 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -33,10 +43,12 @@ public class DeliveryController {
 
     private final DeliveryUseCase deliveryUseCase;
     private final DeliveryMapper deliveryMapper;
+    private final ObjectMapper objectMapper;
 
-    public DeliveryController(DeliveryUseCase deliveryUseCase, DeliveryMapper deliveryMapper) {
+    public DeliveryController(DeliveryUseCase deliveryUseCase, DeliveryMapper deliveryMapper, ObjectMapper objectMapper) {
         this.deliveryUseCase = deliveryUseCase;
         this.deliveryMapper = deliveryMapper;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Crear una nueva entrega", 
@@ -59,52 +71,103 @@ public class DeliveryController {
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Estado de entrega actualizado exitosamente"),
         @ApiResponse(responseCode = "404", description = "Entrega no encontrada"),
-        @ApiResponse(responseCode = "400", description = "Estado inválido o fecha inválida")
+        @ApiResponse(responseCode = "400", description = "Estado inválido, fecha inválida o transición no permitida"),
+        @ApiResponse(responseCode = "409", description = "Otra transición cambió la entrega al mismo tiempo"),
+        @ApiResponse(responseCode = "412", description = "La entrega ha cambiado desde la versión indicada en If-Match")
     })
     @PatchMapping("/{deliveryId}")
     public ResponseEntity<DeliveryDto> actualizarEstadoEntrega(
             @PathVariable String deliveryId,
-            @RequestBody DeliveryStatusUpdateRequest statusUpdate) {
+            @RequestBody DeliveryStatusUpdateRequest statusUpdate,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         
+        // Con If-Match la transición solo se aplica sobre la versión que tiene el cliente
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            Optional<Long> version = deliveryUseCase.consultarVersionEntrega(new DeliveryId(deliveryId));
+            if (!ETags.matchesIfMatch(ifMatch, version)) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+            expectedVersion = version.get();
+        }
+
         Delivery updatedDelivery;
+        try {
+            updatedDelivery = aplicarAccion(new DeliveryId(deliveryId), statusUpdate, expectedVersion);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (ConcurrencyFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            // El estado actual de la entrega no admite la acción
+            return ResponseEntity.badRequest().build();
+        }
+        if (updatedDelivery == null) {
+            return ResponseEntity.badRequest().build();
+        }
         
+        return ResponseEntity.ok()
+            .eTag(ETags.of(updatedDelivery.getVersion()))
+            .body(deliveryMapper.toDto(updatedDelivery));
+    }
+
+    private Delivery aplicarAccion(DeliveryId deliveryId, DeliveryStatusUpdateRequest statusUpdate, Long expectedVersion) {
         switch (statusUpdate.getAction()) {
             case "SCHEDULE":
-                updatedDelivery = deliveryUseCase.programarEntrega(
-                    new DeliveryId(deliveryId), 
-                    new DeliveryDate(statusUpdate.getScheduledDate())
+                return deliveryUseCase.programarEntrega(
+                    deliveryId, 
+                    toDeliveryDate(statusUpdate.getScheduledDate()),
+                    expectedVersion
                 );
-                break;
             case "CONFIRM":
-                updatedDelivery = deliveryUseCase.confirmarEntrega(new DeliveryId(deliveryId));
-                break;
+                return deliveryUseCase.confirmarEntrega(deliveryId, expectedVersion);
             case "START":
-                updatedDelivery = deliveryUseCase.iniciarEntrega(new DeliveryId(deliveryId));
-                break;
+                return deliveryUseCase.iniciarEntrega(deliveryId, expectedVersion);
             case "COMPLETE":
-                updatedDelivery = deliveryUseCase.completarEntrega(new DeliveryId(deliveryId));
-                break;
+                return deliveryUseCase.completarEntrega(deliveryId, expectedVersion);
             case "CANCEL":
-                updatedDelivery = deliveryUseCase.cancelarEntrega(new DeliveryId(deliveryId));
-                break;
+                return deliveryUseCase.cancelarEntrega(deliveryId, expectedVersion);
             default:
-                return ResponseEntity.badRequest().build();
+                return null;
+        }
+    }
+
+    private static DeliveryDate toDeliveryDate(LocalDateTime scheduledDate) {
+        try {
+            return new DeliveryDate(scheduledDate);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Fecha de entrega inválida: " + e.getMessage(), e);
         }
-        
-        return ResponseEntity.ok(deliveryMapper.toDto(updatedDelivery));
     }
 
     @Operation(summary = "Obtener detalles de una entrega", 
-               description = "Obtiene los detalles completos de una entrega específica.")
+               description = "Obtiene los detalles completos de una entrega específica. El ETag es la versión de la entrega; "
+                   + "si coincide con If-None-Match se responde 304 sin leer la entrega.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Entrega encontrada"),
+        @ApiResponse(responseCode = "304", description = "Entrega no modificada"),
         @ApiResponse(responseCode = "404", description = "Entrega no encontrada")
     })
     @GetMapping("/{deliveryId}")
-    public ResponseEntity<DeliveryDto> obtenerEntrega(@PathVariable String deliveryId) {
-        return deliveryUseCase.obtenerEntrega(new DeliveryId(deliveryId))
-                .map(deliveryMapper::toDto)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<DeliveryDto> obtenerEntrega(
+            @PathVariable String deliveryId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<Long> version = deliveryUseCase.consultarVersionEntrega(new DeliveryId(deliveryId));
+            if (version.isPresent() && ETags.matchesIfNoneMatch(ifNoneMatch, version.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version.get())).build();
+            }
+        }
+        return deliveryUseCase.consultarEntrega(new DeliveryId(deliveryId))
+                .map(delivery -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (delivery.version() != null) {
+                        response.eTag(ETags.of(delivery.version()));
+                    }
+                    return response.body(deliveryMapper.toDto(delivery));
+                })
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -115,13 +178,36 @@ public class DeliveryController {
     })
     @GetMapping
     public ResponseEntity<List<DeliveryDto>> obtenerTodasLasEntregas() {
-        List<DeliveryDto> deliveries = deliveryUseCase.obtenerTodasLasEntregas()
+        List<DeliveryDto> deliveries = deliveryUseCase.consultarTodasLasEntregas()
                 .stream()
                 .map(deliveryMapper::toDto)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(deliveries);
     }
 
+    @Operation(summary = "Exportar entregas", 
+               description = "Exporta las entregas como JSON delimitado por líneas a medida que se leen de la base de datos, en orden de creación. Se comprime con gzip si el cliente lo acepta.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Flujo de entregas")
+    })
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportarEntregas(
+            @RequestParam(required = false) String status,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // El estado se valida antes de empezar a enviar la respuesta
+        DeliveryStatus deliveryStatus = null;
+        if (status != null && !status.isBlank()) {
+            try {
+                deliveryStatus = DeliveryStatus.valueOf(status.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new InvalidInputException("Estado de entrega inválido: " + status);
+            }
+        }
+        DeliveryStatus filter = deliveryStatus;
+        return NdjsonExport.<DeliveryDto>response(objectMapper, acceptEncoding, consumer ->
+            deliveryUseCase.exportarEntregas(filter, delivery -> consumer.accept(deliveryMapper.toDto(delivery))));
+    }
+
     @Operation(summary = "Obtener entregas por estado", 
                description = "Obtiene una lista de entregas filtradas por estado.")
     @ApiResponses({
@@ -129,7 +215,7 @@ public class DeliveryController {
     })
     @GetMapping("/estado/{status}")
     public ResponseEntity<List<DeliveryDto>> obtenerEntregasPorEstado(@PathVariable String status) {
-        List<DeliveryDto> deliveries = deliveryUseCase.obtenerEntregasPorEstado(status)
+        List<DeliveryDto> deliveries = deliveryUseCase.consultarEntregasPorEstado(status)
                 .stream()
                 .map(deliveryMapper::toDto)
                 .collect(Collectors.toList());
@@ -139,11 +225,28 @@ public class DeliveryController {
     @Operation(summary = "Eliminar una entrega", description = "Elimina una entrega por su identificador.")
     @ApiResponses({
         @ApiResponse(responseCode = "204", description = "Entrega eliminada exitosamente"),
-        @ApiResponse(responseCode = "404", description = "Entrega no encontrada")
+        @ApiResponse(responseCode = "404", description = "Entrega no encontrada"),
+        @ApiResponse(responseCode = "412", description = "La entrega ha cambiado desde la versión indicada en If-Match")
     })
     @DeleteMapping("/{deliveryId}")
-    public ResponseEntity<Void> eliminarEntrega(@PathVariable String deliveryId) {
+    public ResponseEntity<Void> eliminarEntrega(
+            @PathVariable String deliveryId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         DeliveryId id = new DeliveryId(deliveryId);
+        if (ifMatch != null) {
+            Optional<Long> version = deliveryUseCase.consultarVersionEntrega(id);
+            if (!ETags.matchesIfMatch(ifMatch, version)) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+            try {
+                ((com.example.hexagonalorders.application.service.DeliveryService) deliveryUseCase).eliminarEntrega(id, version.get());
+            } catch (OptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            } catch (NoSuchElementException e) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.noContent().build();
+        }
         // Intentar obtener la entrega antes de eliminar
         if (deliveryUseCase.obtenerEntrega(id).isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -0,0 +1,67 @@
+package com.example.hexagonalorders.infrastructure.in.web;
+
+import java.util.Optional;
+
+/**
+ * Entity tags derived from the version of an aggregate.
+ *
+ * The tag of a resource is its version as a strong entity tag, so it changes on every
+ * committed write and a client can revalidate a copy with {@code If-None-Match} or make
+ * a write conditional on its copy still being current with {@code If-Match}.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * @param version the version of the resource
+     * @return the strong entity tag of that version
+     */
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Evaluates an {@code If-None-Match} header using the weak comparison.
+     *
+     * @param ifNoneMatch the header, or null
+     * @param version the current version of the resource
+     * @return true if the client already has the current representation
+     */
+    static boolean matchesIfNoneMatch(String ifNoneMatch, long version) {
+        return ifNoneMatch != null && matches(ifNoneMatch, version, true);
+    }
+
+    /**
+     * Evaluates an {@code If-Match} header using the strong comparison.
+     *
+     * @param ifMatch the header
+     * @param currentVersion the current version of the resource, empty if it does not exist
+     * @return true if the precondition holds
+     */
+    static boolean matchesIfMatch(String ifMatch, Optional<Long> currentVersion) {
+        return currentVersion.isPresent() && matches(ifMatch, currentVersion.get(), false);
+    }
+
+    private static boolean matches(String header, long version, boolean weak) {
+        String current = of(version);
+        for (String tag : header.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                // Una etiqueta débil nunca cumple la comparación fuerte
+                if (!weak) {
+                    continue;
+                }
+                tag = tag.substring(2);
+            }
+            if (tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
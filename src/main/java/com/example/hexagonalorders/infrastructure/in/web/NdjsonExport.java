@@ -0,0 +1,117 @@
+package com.example.hexagonalorders.infrastructure.in.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Builds newline-delimited JSON responses whose records are written while they are read.
+ * Only the record being serialized and the output buffers are held in memory, so the
+ * heap needed does not grow with the size of the export.
+ *
+ * The body is gzip-compressed when the client sends {@code Accept-Encoding: gzip}.
+ * The first record is flushed as soon as it is written, so the client starts receiving
+ * bytes before the whole result has been read. The body is written asynchronously and
+ * may take up to {@code orders.export.timeout-ms}, set in WebConfiguration.
+ */
+final class NdjsonExport {
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private NdjsonExport() {
+    }
+
+    /**
+     * Something that writes every record of an export to a consumer.
+     */
+    @FunctionalInterface
+    interface RecordSource<T> {
+        void forEach(Consumer<T> consumer);
+    }
+
+    /**
+     * @param objectMapper   the mapper used to serialize each record
+     * @param acceptEncoding the Accept-Encoding header of the request, or null
+     * @param source         writes the records of the export
+     * @return the streaming response
+     */
+    static <T> ResponseEntity<StreamingResponseBody> response(ObjectMapper objectMapper, String acceptEncoding,
+                                                              RecordSource<T> source) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        ObjectWriter writer = objectMapper.writer();
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE, true) : outputStream;
+            RecordWriter<T> records = new RecordWriter<>(writer, out);
+            try {
+                source.forEach(records);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (gzip) {
+                ((GZIPOutputStream) out).finish();
+            }
+            out.flush();
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(NDJSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // "gzip;q=0" significa que el cliente lo rechaza
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes each record as one line, flushing after the first one.
+     */
+    private static final class RecordWriter<T> implements Consumer<T> {
+        private final ObjectWriter writer;
+        private final OutputStream out;
+        private boolean first = true;
+
+        RecordWriter(ObjectWriter writer, OutputStream out) {
+            this.writer = writer;
+            this.out = out;
+        }
+
+        @Override
+        public void accept(T record) {
+            try {
+                out.write(writer.writeValueAsBytes(record));
+                out.write('\n');
+                if (first) {
+                    out.flush();
+                    first = false;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
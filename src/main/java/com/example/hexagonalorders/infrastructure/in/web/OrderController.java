@@ -1,18 +1,45 @@
 package com.example.hexagonalorders.infrastructure.in.web;
 
+import com.example.hexagonalorders.application.service.OrderGroupCommitter;
+import com.example.hexagonalorders.application.service.OrderIntake;
+import com.example.hexagonalorders.domain.exception.InvalidInputException;
 import com.example.hexagonalorders.domain.model.Order;
+import com.example.hexagonalorders.domain.model.OrderStatus;
+import com.example.hexagonalorders.domain.port.out.OrderQueryRepository;
+import com.example.hexagonalorders.domain.port.out.OrderIntakeStatusRepository;
 import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
 import com.example.hexagonalorders.domain.port.in.OrderUseCase;
 import com.example.hexagonalorders.infrastructure.in.web.dto.OrderDto;
+import com.example.hexagonalorders.infrastructure.in.web.dto.OrderIntakeStatusDto;
+import com.example.hexagonalorders.infrastructure.in.web.dto.OrderPageDto;
 import com.example.hexagonalorders.infrastructure.in.web.dto.OrderResponseDto;
+import com.example.hexagonalorders.infrastructure.in.web.dto.OrderSearchPageDto;
 import com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * REST controller for order operations.
@@ -25,54 +52,292 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Orders", description = "Order management API")
 public class OrderController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final OrderUseCase orderUseCase;
     private final OrderMapper orderMapper;
+    private final OrderGroupCommitter orderGroupCommitter;
+    private final OrderIntake orderIntake;
+    private final OrderIdempotencyStore orderIdempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    @Value("${orders.page.default-size:50}")
+    private int defaultPageSize;
 
-    public OrderController(OrderUseCase orderUseCase, OrderMapper orderMapper) {
+    @Value("${orders.page.max-size:500}")
+    private int maxPageSize;
+
+    public OrderController(OrderUseCase orderUseCase, OrderMapper orderMapper, OrderGroupCommitter orderGroupCommitter,
+                           OrderIntake orderIntake, OrderIdempotencyStore orderIdempotencyStore, ObjectMapper objectMapper) {
         this.orderUseCase = orderUseCase;
         this.orderMapper = orderMapper;
+        this.orderGroupCommitter = orderGroupCommitter;
+        this.orderIntake = orderIntake;
+        this.orderIdempotencyStore = orderIdempotencyStore;
+        this.objectMapper = objectMapper;
     }
 
-    @Operation(summary = "Create a new order", description = "Creates a new order and returns the created order.")
+    @Operation(summary = "Create a new order", description = "Creates a new order and returns the created order. Requests repeated with the same Idempotency-Key return the order created by the first one.")
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "Order created successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid input")
+        @ApiResponse(responseCode = "200", description = "Order created successfully, or replayed for a known Idempotency-Key"),
+        @ApiResponse(responseCode = "400", description = "Invalid input"),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different order")
     })
     @PostMapping
-    public ResponseEntity<OrderResponseDto> createOrder(@RequestBody OrderDto orderDto) {
+    public ResponseEntity<OrderResponseDto> createOrder(@RequestBody OrderDto orderDto,
+                                                        @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         OrderMapper.OrderCreationData orderData = orderMapper.createOrderData(orderDto);
         
-        // Usar el método que devuelve el id
-        var orderWithId = ((com.example.hexagonalorders.application.service.OrderService) orderUseCase).createOrderWithId(orderData);
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            var result = orderIdempotencyStore.createOrder(idempotencyKey, orderData);
+            return ResponseEntity.ok()
+                .header(IDEMPOTENT_REPLAYED_HEADER, Boolean.toString(result.replayed()))
+                .body(result.response());
+        }
+        
+        // Usar el método que devuelve el id; con group commit comparte transacción con otras peticiones
+        var orderWithId = orderGroupCommitter.createOrderWithId(orderData);
         
         return ResponseEntity.ok(orderMapper.toResponseDto(orderWithId.getOrder(), orderWithId.getId()));
     }
 
-    @Operation(summary = "Get an order by order number", description = "Retrieves an order by its order number.")
+    @Operation(summary = "Create orders in bulk", description = "Creates all the given orders in a single transaction and returns them in the same order. If any order is invalid, none is created.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Orders created successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid input")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<OrderResponseDto>> createOrders(@RequestBody List<OrderDto> orderDtos) {
+        List<OrderMapper.OrderCreationData> ordersData = orderDtos.stream()
+            .map(orderMapper::createOrderData)
+            .collect(Collectors.toList());
+
+        var ordersWithId = ((com.example.hexagonalorders.application.service.OrderService) orderUseCase).createOrdersWithId(ordersData);
+
+        return ResponseEntity.ok(ordersWithId.stream()
+            .map(orderWithId -> orderMapper.toResponseDto(orderWithId.getOrder(), orderWithId.getId()))
+            .collect(Collectors.toList()));
+    }
+
+    @Operation(summary = "Submit an order asynchronously", description = "Validates the order, assigns its order number and queues it for creation. The Location header points to the intake status of the order.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Order accepted for creation"),
+        @ApiResponse(responseCode = "400", description = "Invalid input"),
+        @ApiResponse(responseCode = "429", description = "Intake buffer is full, retry later")
+    })
+    @PostMapping("/async")
+    public ResponseEntity<OrderIntakeStatusDto> submitOrder(@RequestBody OrderDto orderDto) {
+        OrderMapper.OrderCreationData orderData = orderMapper.createOrderData(orderDto);
+
+        Optional<String> orderNumber = orderIntake.submit(orderData);
+        if (orderNumber.isEmpty()) {
+            // Buffer lleno: el cliente debe reintentar más tarde
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+            .path("/api/orders/intake/{orderNumber}")
+            .buildAndExpand(orderNumber.get())
+            .toUri();
+        return ResponseEntity.accepted()
+            .location(location)
+            .body(new OrderIntakeStatusDto(orderNumber.get(), OrderIntakeStatusRepository.IntakeState.ACCEPTED.name(), null));
+    }
+
+    @Operation(summary = "Get the intake status of an order", description = "Returns whether an order submitted asynchronously is still queued, was created or failed.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Intake status found"),
+        @ApiResponse(responseCode = "404", description = "Unknown order number")
+    })
+    @GetMapping("/intake/{orderNumber}")
+    public ResponseEntity<OrderIntakeStatusDto> getIntakeStatus(@PathVariable String orderNumber) {
+        var status = orderIntake.status(orderNumber);
+        if (status.isPresent()) {
+            return ResponseEntity.ok(new OrderIntakeStatusDto(orderNumber, status.get().state().name(), status.get().error()));
+        }
+        // El estado ya se olvidó: si la orden existe, se creó
+        if (((com.example.hexagonalorders.application.service.OrderService) orderUseCase).orderExists(new OrderNumber(orderNumber))) {
+            return ResponseEntity.ok(new OrderIntakeStatusDto(orderNumber, OrderIntakeStatusRepository.IntakeState.CREATED.name(), null));
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @Operation(summary = "List orders", description = "Lists orders in ascending id order, one page at a time. Pass the nextCursor of a page as 'after' to get the next one.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of orders"),
+        @ApiResponse(responseCode = "400", description = "Invalid filter")
+    })
+    @GetMapping
+    public ResponseEntity<OrderPageDto> listOrders(@RequestParam(required = false) String customerId,
+                                                   @RequestParam(required = false) String status,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                   @RequestParam(required = false) Long after,
+                                                   @RequestParam(required = false) Integer limit) {
+        int pageSize = Math.min(limit == null || limit <= 0 ? defaultPageSize : limit, maxPageSize);
+        var page = ((com.example.hexagonalorders.application.service.OrderService) orderUseCase)
+            .getOrdersPage(toFilter(customerId, status, from, to), after, pageSize);
+
+        List<OrderResponseDto> items = page.stream()
+            .map(orderMapper::toResponseDto)
+            .collect(Collectors.toList());
+        // Una página incompleta es la última
+        Long nextCursor = page.size() < pageSize ? null : page.get(page.size() - 1).id();
+        return ResponseEntity.ok(new OrderPageDto(items, nextCursor));
+    }
+
+    @Operation(summary = "Search orders", description = "Searches orders by customer, any of several statuses and an order date range, sorted by order date (newest first unless sort=orderDate,asc), one page at a time. Pass the nextCursor of a page as 'after', with the same criteria, to get the next one.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of orders"),
+        @ApiResponse(responseCode = "400", description = "Invalid criteria or cursor")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<OrderSearchPageDto> searchOrders(@RequestParam(required = false) String customerId,
+                                                           @RequestParam(required = false) List<String> status,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                           @RequestParam(defaultValue = "orderDate,desc") String sort,
+                                                           @RequestParam(required = false) String after,
+                                                           @RequestParam(required = false) Integer limit) {
+        int pageSize = Math.min(limit == null || limit <= 0 ? defaultPageSize : limit, maxPageSize);
+        Set<OrderStatus> statuses = new HashSet<>();
+        if (status != null) {
+            status.stream()
+                .filter(value -> !value.isBlank())
+                .forEach(value -> statuses.add(parseStatus(value.trim())));
+        }
+        var search = new OrderQueryRepository.OrderSearch(customerId, statuses, from, to, isNewestFirst(sort));
+        var page = orderUseCase.searchOrders(search, decodeCursor(after), pageSize);
+
+        List<OrderResponseDto> items = page.stream()
+            .map(orderMapper::toResponseDto)
+            .collect(Collectors.toList());
+        // Una página incompleta es la última
+        String nextCursor = page.size() < pageSize ? null : encodeCursor(page.get(page.size() - 1));
+        return ResponseEntity.ok(new OrderSearchPageDto(items, nextCursor));
+    }
+
+    @Operation(summary = "Stream orders", description = "Streams every matching order as newline-delimited JSON while it is read from the database, in ascending id order. The body is gzip-compressed when the client accepts gzip.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Stream of orders"),
+        @ApiResponse(responseCode = "400", description = "Invalid filter")
+    })
+    @GetMapping(value = {"/stream", "/export"}, produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamOrders(@RequestParam(required = false) String customerId,
+                                                              @RequestParam(required = false) String status,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        OrderQueryRepository.OrderFilter filter = toFilter(customerId, status, from, to);
+        return NdjsonExport.<OrderResponseDto>response(objectMapper, acceptEncoding, consumer ->
+            ((com.example.hexagonalorders.application.service.OrderService) orderUseCase)
+                .streamOrders(filter, order -> consumer.accept(orderMapper.toResponseDto(order))));
+    }
+
+    @Operation(summary = "Get an order by order number",
+               description = "Retrieves an order by its order number. The ETag is the version of the order; "
+                   + "a request whose If-None-Match holds it gets a 304 without the order being loaded.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Order found"),
+        @ApiResponse(responseCode = "304", description = "Order not modified"),
         @ApiResponse(responseCode = "404", description = "Order not found")
     })
     @GetMapping("/{orderNumber}")
-    public ResponseEntity<OrderResponseDto> getOrder(@PathVariable String orderNumber) {
+    public ResponseEntity<OrderResponseDto> getOrder(@PathVariable String orderNumber,
+                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        com.example.hexagonalorders.application.service.OrderService orderService =
+            (com.example.hexagonalorders.application.service.OrderService) orderUseCase;
+        if (ifNoneMatch != null) {
+            // Solo se lee la versión; la orden se carga únicamente si el cliente no la tiene
+            Optional<Long> version = orderService.getOrderVersion(new OrderNumber(orderNumber));
+            if (version.isPresent() && ETags.matchesIfNoneMatch(ifNoneMatch, version.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version.get())).build();
+            }
+        }
+
         // Usar el método que devuelve el id
-        var orderWithId = ((com.example.hexagonalorders.application.service.OrderService) orderUseCase)
-            .getOrderWithId(new OrderNumber(orderNumber));
+        var orderWithId = orderService.getOrderWithId(new OrderNumber(orderNumber));
         
         if (orderWithId.isPresent()) {
-            return ResponseEntity.ok(orderMapper.toResponseDto(orderWithId.get().getOrder(), orderWithId.get().getId()));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (orderWithId.get().getVersion() != null) {
+                response.eTag(ETags.of(orderWithId.get().getVersion()));
+            }
+            return response.body(orderMapper.toResponseDto(orderWithId.get().getOrder(), orderWithId.get().getId()));
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
-    @Operation(summary = "Delete an order by order number", description = "Deletes an order by its order number.")
+    @Operation(summary = "Delete an order by order number",
+               description = "Deletes an order by its order number. With If-Match the order is deleted only if its ETag is still current.")
     @ApiResponses({
-        @ApiResponse(responseCode = "204", description = "Order deleted successfully")
+        @ApiResponse(responseCode = "204", description = "Order deleted successfully"),
+        @ApiResponse(responseCode = "412", description = "The order has changed or no longer exists")
     })
     @DeleteMapping("/{orderNumber}")
-    public ResponseEntity<Void> deleteOrder(@PathVariable String orderNumber) {
-        orderUseCase.deleteOrder(new OrderNumber(orderNumber));
+    public ResponseEntity<Void> deleteOrder(@PathVariable String orderNumber,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ifMatch == null) {
+            orderUseCase.deleteOrder(new OrderNumber(orderNumber));
+            return ResponseEntity.noContent().build();
+        }
+
+        com.example.hexagonalorders.application.service.OrderService orderService =
+            (com.example.hexagonalorders.application.service.OrderService) orderUseCase;
+        Optional<Long> version = orderService.getOrderVersion(new OrderNumber(orderNumber));
+        if (!ETags.matchesIfMatch(ifMatch, version)) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        try {
+            // El borrado vuelve a comprobar la versión, por si la orden cambió después de leerla
+            orderService.deleteOrder(new OrderNumber(orderNumber), version.get());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
         return ResponseEntity.noContent().build();
     }
-} 
\ No newline at end of file
+
+    private OrderQueryRepository.OrderFilter toFilter(String customerId, String status, LocalDateTime from, LocalDateTime to) {
+        OrderStatus orderStatus = status != null && !status.isBlank() ? parseStatus(status) : null;
+        return new OrderQueryRepository.OrderFilter(customerId, orderStatus, from, to);
+    }
+
+    private static OrderStatus parseStatus(String status) {
+        try {
+            return OrderStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Estado de orden inválido: " + status);
+        }
+    }
+
+    private static boolean isNewestFirst(String sort) {
+        String[] parts = sort.split(",");
+        if (!parts[0].trim().equals("orderDate") || parts.length > 2) {
+            throw new InvalidInputException("Orden de búsqueda inválido: " + sort);
+        }
+        String direction = parts.length == 2 ? parts[1].trim().toLowerCase() : "desc";
+        if (!direction.equals("asc") && !direction.equals("desc")) {
+            throw new InvalidInputException("Orden de búsqueda inválido: " + sort);
+        }
+        return direction.equals("desc");
+    }
+
+    private static String encodeCursor(OrderQueryRepository.OrderView last) {
+        String position = last.orderDate() + "|" + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static OrderQueryRepository.SearchCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            return new OrderQueryRepository.SearchCursor(LocalDateTime.parse(position[0]), Long.valueOf(position[1]));
+        } catch (RuntimeException e) {
+            throw new InvalidInputException("Cursor de búsqueda inválido: " + cursor);
+        }
+    }
+}
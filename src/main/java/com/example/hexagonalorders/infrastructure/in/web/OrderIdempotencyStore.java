@@ -0,0 +1,217 @@
+package com.example.hexagonalorders.infrastructure.in.web;
+
+import com.example.hexagonalorders.application.service.OrderService;
+import com.example.hexagonalorders.domain.exception.InvalidInputException;
+import com.example.hexagonalorders.domain.model.OrderItem;
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import com.example.hexagonalorders.domain.port.out.IdempotencyKeyRepository;
+import com.example.hexagonalorders.domain.port.out.IdempotencyKeyRepository.RecordedKey;
+import com.example.hexagonalorders.infrastructure.in.web.dto.OrderResponseDto;
+import com.example.hexagonalorders.infrastructure.in.web.mapper.OrderMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Handles order creation requests carrying an {@code Idempotency-Key} header.
+ * The first request with a key creates the order and records the key in the same
+ * transaction; later requests with the key get the response of that order instead of
+ * creating another one.
+ *
+ * Each key is recorded with a SHA-256 fingerprint of the canonical form of its request.
+ * A later request that reuses the key with a different order is rejected with 422 instead
+ * of being answered with the order of the first one.
+ *
+ * Lookups go through two tiers: an in-memory Caffeine cache of recent responses, bounded by
+ * {@code orders.idempotency.cache-size} entries and {@code orders.idempotency.ttl-ms},
+ * and the persistent key table. A cached response is only replayed while its order still
+ * exists, checked with an index-only lookup; a key whose order was deleted is answered with
+ * 409 on either tier. Concurrent requests with the same key are collapsed:
+ * only the first one does the work, and the others wait for its result.
+ * Keys are kept in the table for {@code orders.idempotency.ttl-ms} as well.
+ */
+@Component
+public class OrderIdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIdempotencyStore.class);
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final OrderService orderService;
+    private final OrderMapper orderMapper;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Map<String, InFlightRequest> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, CachedResponse> cache;
+    private final long ttlMs;
+
+    public OrderIdempotencyStore(OrderService orderService, OrderMapper orderMapper,
+                                 IdempotencyKeyRepository idempotencyKeyRepository,
+                                 @Value("${orders.idempotency.cache-size:10000}") int cacheSize,
+                                 @Value("${orders.idempotency.ttl-ms:86400000}") long ttlMs) {
+        this.orderService = orderService;
+        this.orderMapper = orderMapper;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttlMs = ttlMs;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfterWrite(Duration.ofMillis(ttlMs))
+            .build();
+    }
+
+    /**
+     * Creates the order for a key, or returns the order already created for it.
+     *
+     * @param idempotencyKey the key sent by the client
+     * @param orderData the data of the order to create
+     * @return the response for the key and whether it was replayed from an earlier request
+     * @throws ResponseStatusException with 422 if the key was used for a different order
+     * @throws ResponseStatusException with 409 if the order created for the key was deleted
+     */
+    public Result createOrder(String idempotencyKey, OrderMapper.OrderCreationData orderData) {
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidInputException("Idempotency-Key must not be longer than " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = fingerprint(orderData);
+        CachedResponse cached = cache.getIfPresent(idempotencyKey);
+        if (cached != null) {
+            requireSameRequest(idempotencyKey, cached.requestHash(), requestHash);
+            // La orden pudo borrarse después de cachear la respuesta, también desde otro nodo
+            if (!orderService.orderExists(new OrderNumber(cached.response().getOrderNumber()))) {
+                cache.invalidate(idempotencyKey);
+                throw orderGone();
+            }
+            return new Result(cached.response(), true);
+        }
+
+        InFlightRequest mine = new InFlightRequest(requestHash, new CompletableFuture<>());
+        InFlightRequest leader = inFlight.putIfAbsent(idempotencyKey, mine);
+        if (leader != null) {
+            // Otra petición con la misma clave está en curso: esperar su resultado
+            requireSameRequest(idempotencyKey, leader.requestHash(), requestHash);
+            return new Result(await(leader.response()), true);
+        }
+
+        try {
+            Result result = createOrReplay(idempotencyKey, requestHash, orderData);
+            cache.put(idempotencyKey, new CachedResponse(result.response(), requestHash));
+            mine.response().complete(result.response());
+            return result;
+        } catch (RuntimeException e) {
+            mine.response().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(idempotencyKey, mine);
+        }
+    }
+
+    private Result createOrReplay(String idempotencyKey, String requestHash, OrderMapper.OrderCreationData orderData) {
+        var existing = orderService.findIdempotencyKey(idempotencyKey);
+        if (existing.isPresent()) {
+            return replay(idempotencyKey, requestHash, existing.get());
+        }
+        try {
+            var created = orderService.createOrderWithIdempotencyKey(idempotencyKey, requestHash, orderData);
+            return new Result(orderMapper.toResponseDto(created.getOrder(), created.getId()), false);
+        } catch (DataIntegrityViolationException e) {
+            // Otro nodo registró la clave a la vez: su orden es la que vale
+            return replay(idempotencyKey, requestHash, orderService.findIdempotencyKey(idempotencyKey).orElseThrow(() -> e));
+        }
+    }
+
+    private Result replay(String idempotencyKey, String requestHash, RecordedKey recorded) {
+        requireSameRequest(idempotencyKey, recorded.requestHash(), requestHash);
+        var order = orderService.getOrderWithId(recorded.orderNumber()).orElseThrow(OrderIdempotencyStore::orderGone);
+        return new Result(orderMapper.toResponseDto(order.getOrder(), order.getId()), true);
+    }
+
+    private static ResponseStatusException orderGone() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "The order created for this Idempotency-Key no longer exists");
+    }
+
+    private static void requireSameRequest(String idempotencyKey, String recordedHash, String requestHash) {
+        if (!recordedHash.equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                "Idempotency-Key " + idempotencyKey + " was already used for a different order");
+        }
+    }
+
+    /**
+     * SHA-256 of the canonical form of an order request: every field in a fixed order,
+     * so two requests for the same order match however their JSON was written.
+     */
+    private static String fingerprint(OrderMapper.OrderCreationData orderData) {
+        StringBuilder canonical = new StringBuilder()
+            .append(orderData.getCustomerId()).append('\n')
+            .append(orderData.getOrderDate()).append('\n')
+            .append(orderData.getStatus()).append('\n');
+        if (orderData.getItems() != null) {
+            for (OrderItem item : orderData.getItems()) {
+                canonical.append(item.getProductNumber().value()).append('\t')
+                    .append(item.getQuantity().value()).append('\t')
+                    // 10.0 y 10.00 son el mismo precio
+                    .append(item.getUnitPrice() == null ? null : item.getUnitPrice().stripTrailingZeros().toPlainString())
+                    .append('\n');
+            }
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${orders.idempotency.purge-interval-ms:3600000}",
+               fixedDelayString = "${orders.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+        try {
+            int purged = idempotencyKeyRepository.deleteCreatedBefore(Instant.now().minusMillis(ttlMs));
+            if (purged > 0) {
+                log.info("Purged {} expired idempotency keys", purged);
+            }
+        } catch (Exception e) {
+            log.error("Error purging expired idempotency keys", e);
+        }
+    }
+
+    private static OrderResponseDto await(CompletableFuture<OrderResponseDto> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @param response the response for the key
+     * @param replayed whether the order was created by an earlier request
+     */
+    public record Result(OrderResponseDto response, boolean replayed) {
+    }
+
+    private record CachedResponse(OrderResponseDto response, String requestHash) {
+    }
+
+    private record InFlightRequest(String requestHash, CompletableFuture<OrderResponseDto> response) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.hexagonalorders.infrastructure.in.web;
+
+import com.example.hexagonalorders.application.service.OrderSummaryService;
+import com.example.hexagonalorders.domain.exception.InvalidInputException;
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.port.out.OrderSummaryRepository.OrderSummary;
+import com.example.hexagonalorders.infrastructure.in.web.dto.OrderSummaryDto;
+import com.example.hexagonalorders.infrastructure.in.web.dto.OrderSummaryPageDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * REST controller for the order summary read model.
+ * Summaries combine each order with its item count, total amount and latest delivery status,
+ * and are read from a single table.
+ */
+@RestController
+@RequestMapping("/api/order-summaries")
+@Tag(name = "Order Summaries", description = "Order summary read model")
+public class OrderSummaryController {
+
+    private final OrderSummaryService orderSummaryService;
+
+    @Value("${orders.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${orders.page.max-size:500}")
+    private int maxPageSize;
+
+    public OrderSummaryController(OrderSummaryService orderSummaryService) {
+        this.orderSummaryService = orderSummaryService;
+    }
+
+    @Operation(summary = "List order summaries", description = "Lists order summaries in ascending order number, one page at a time. Pass the nextCursor of a page as 'after' to get the next one.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of order summaries"),
+        @ApiResponse(responseCode = "400", description = "Invalid filter")
+    })
+    @GetMapping
+    public ResponseEntity<OrderSummaryPageDto> listSummaries(@RequestParam(required = false) String customerId,
+                                                             @RequestParam(required = false) String deliveryStatus,
+                                                             @RequestParam(required = false) String after,
+                                                             @RequestParam(required = false) Integer limit) {
+        int pageSize = Math.min(limit == null || limit <= 0 ? defaultPageSize : limit, maxPageSize);
+        List<OrderSummary> page = orderSummaryService.getSummaries(customerId, toDeliveryStatus(deliveryStatus), after, pageSize);
+        List<OrderSummaryDto> items = page.stream().map(OrderSummaryController::toDto).collect(Collectors.toList());
+        // Una página incompleta es la última
+        String nextCursor = page.size() < pageSize ? null : page.get(page.size() - 1).orderNumber();
+        return ResponseEntity.ok(new OrderSummaryPageDto(items, nextCursor));
+    }
+
+    @Operation(summary = "Get the summary of an order", description = "Returns the summary of an order by its order number.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Summary found"),
+        @ApiResponse(responseCode = "404", description = "Summary not found")
+    })
+    @GetMapping("/{orderNumber}")
+    public ResponseEntity<OrderSummaryDto> getSummary(@PathVariable String orderNumber) {
+        return orderSummaryService.getSummary(orderNumber)
+            .map(OrderSummaryController::toDto)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Rebuild the order summaries", description = "Recomputes every order summary from the orders, order items and deliveries.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Summaries rebuilt")
+    })
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuild() {
+        return ResponseEntity.ok(Map.of("rebuilt", orderSummaryService.rebuild()));
+    }
+
+    private static DeliveryStatus toDeliveryStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return DeliveryStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Estado de entrega inválido: " + status);
+        }
+    }
+
+    private static OrderSummaryDto toDto(OrderSummary summary) {
+        return new OrderSummaryDto(summary.orderNumber(), summary.customerId(), summary.orderDate(),
+            summary.status().name(), summary.itemCount(), summary.totalAmount(), summary.latestDeliveryId(),
+            summary.deliveryStatus() == null ? null : summary.deliveryStatus().name());
+    }
+}
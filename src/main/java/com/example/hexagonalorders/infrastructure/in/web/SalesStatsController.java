@@ -0,0 +1,92 @@
+package com.example.hexagonalorders.infrastructure.in.web;
+
+import com.example.hexagonalorders.application.service.SalesStatsService;
+import com.example.hexagonalorders.application.service.SalesStatsService.SalesStats;
+import com.example.hexagonalorders.domain.port.out.SalesStatsRepository.Dimension;
+import com.example.hexagonalorders.infrastructure.in.web.dto.SalesStatsDto;
+import com.example.hexagonalorders.infrastructure.in.web.dto.SalesTotalDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+/**
+ * REST controller for sales statistics over orders.
+ * Ranges made of whole days are answered from in-memory daily totals; other ranges are
+ * computed by the database. The source of each answer is part of the response.
+ */
+@RestController
+@RequestMapping("/api/orders/stats")
+@Tag(name = "Order Statistics", description = "Sales totals per day, product and customer")
+public class SalesStatsController {
+
+    private final SalesStatsService salesStatsService;
+
+    @Value("${orders.stats.default-size:100}")
+    private int defaultSize;
+
+    @Value("${orders.stats.max-size:1000}")
+    private int maxSize;
+
+    public SalesStatsController(SalesStatsService salesStatsService) {
+        this.salesStatsService = salesStatsService;
+    }
+
+    @Operation(summary = "Sales per day", description = "Orders, units and revenue of each day with orders in the range, in ascending date order.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Totals per day")
+    })
+    @GetMapping("/daily")
+    public ResponseEntity<SalesStatsDto> daily(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                               @RequestParam(required = false) Integer limit) {
+        return totals(Dimension.DAY, from, to, limit);
+    }
+
+    @Operation(summary = "Sales per product", description = "Orders, units and revenue of each product sold in the range, highest revenue first.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Totals per product")
+    })
+    @GetMapping("/products")
+    public ResponseEntity<SalesStatsDto> products(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                  @RequestParam(required = false) Integer limit) {
+        return totals(Dimension.PRODUCT, from, to, limit);
+    }
+
+    @Operation(summary = "Sales per customer", description = "Orders, units and revenue of each customer who ordered in the range, highest revenue first.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Totals per customer")
+    })
+    @GetMapping("/customers")
+    public ResponseEntity<SalesStatsDto> customers(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                   @RequestParam(required = false) Integer limit) {
+        return totals(Dimension.CUSTOMER, from, to, limit);
+    }
+
+    @Operation(summary = "Reload the sales rollup", description = "Reloads the in-memory daily totals from the database, picking up deleted orders and items added to existing orders.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Rollup reloaded")
+    })
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        salesStatsService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity<SalesStatsDto> totals(Dimension dimension, LocalDateTime from, LocalDateTime to, Integer limit) {
+        int size = Math.min(limit == null || limit <= 0 ? defaultSize : limit, maxSize);
+        SalesStats stats = salesStatsService.getTotals(dimension, from, to, size);
+        return ResponseEntity.ok(new SalesStatsDto(stats.source().name(), stats.totals().stream()
+            .map(total -> new SalesTotalDto(total.key(), total.orders(), total.units(), total.revenue()))
+            .collect(Collectors.toList())));
+    }
+}
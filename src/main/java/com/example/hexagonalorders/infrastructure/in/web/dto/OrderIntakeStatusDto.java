@@ -0,0 +1,34 @@
+package com.example.hexagonalorders.infrastructure.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object for the status of an order submitted asynchronously.
+ */
+public class OrderIntakeStatusDto {
+    @Schema(description = "Business order number assigned on submission.", example = "01J0Z3K8Q4E7X0000AB12CD34E", accessMode = Schema.AccessMode.READ_ONLY)
+    private String orderNumber;
+
+    @Schema(description = "Intake status.", example = "ACCEPTED", allowableValues = {"ACCEPTED", "CREATED", "FAILED"}, accessMode = Schema.AccessMode.READ_ONLY)
+    private String status;
+
+    @Schema(description = "Why the order could not be created, when the status is FAILED.", accessMode = Schema.AccessMode.READ_ONLY)
+    private String error;
+
+    public OrderIntakeStatusDto() {}
+
+    public OrderIntakeStatusDto(String orderNumber, String status, String error) {
+        this.orderNumber = orderNumber;
+        this.status = status;
+        this.error = error;
+    }
+
+    public String getOrderNumber() { return orderNumber; }
+    public void setOrderNumber(String orderNumber) { this.orderNumber = orderNumber; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,29 @@
+package com.example.hexagonalorders.infrastructure.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a page of orders.
+ * The next page is requested by passing {@code nextCursor} as the {@code after} parameter.
+ */
+public class OrderPageDto {
+    @Schema(description = "Orders of this page, in ascending id order.")
+    private List<OrderResponseDto> items;
+
+    @Schema(description = "Cursor of the next page; null when this is the last page.", example = "123")
+    private Long nextCursor;
+
+    public OrderPageDto() {}
+
+    public OrderPageDto(List<OrderResponseDto> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<OrderResponseDto> getItems() { return items; }
+    public void setItems(List<OrderResponseDto> items) { this.items = items; }
+
+    public Long getNextCursor() { return nextCursor; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,30 @@
+package com.example.hexagonalorders.infrastructure.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a page of order search results.
+ * The next page is requested by passing {@code nextCursor} as the {@code after} parameter
+ * together with the same criteria.
+ */
+public class OrderSearchPageDto {
+    @Schema(description = "Orders of this page, sorted by order date.")
+    private List<OrderResponseDto> items;
+
+    @Schema(description = "Opaque cursor of the next page; null when this is the last page.")
+    private String nextCursor;
+
+    public OrderSearchPageDto() {}
+
+    public OrderSearchPageDto(List<OrderResponseDto> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<OrderResponseDto> getItems() { return items; }
+    public void setItems(List<OrderResponseDto> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,72 @@
+package com.example.hexagonalorders.infrastructure.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for the summary of an order.
+ */
+public class OrderSummaryDto {
+    @Schema(description = "Business order number.", example = "01J0Z6Y4C3W9Q8K2M1N0P5R7ST")
+    private String orderNumber;
+
+    @Schema(description = "Customer identifier.", example = "CUST-001")
+    private String customerId;
+
+    @Schema(description = "Order creation date.", example = "2024-06-18T10:00:00")
+    private LocalDateTime orderDate;
+
+    @Schema(description = "Order status.", example = "CREATED")
+    private String status;
+
+    @Schema(description = "Number of items of the order.", example = "2")
+    private int itemCount;
+
+    @Schema(description = "Sum of quantity times unit price over the items.", example = "204.97")
+    private BigDecimal totalAmount;
+
+    @Schema(description = "Most recently created delivery of the order; null if it has none.")
+    private String latestDeliveryId;
+
+    @Schema(description = "Status of the latest delivery; null if the order has none.", example = "SCHEDULED")
+    private String deliveryStatus;
+
+    public OrderSummaryDto() {}
+
+    public OrderSummaryDto(String orderNumber, String customerId, LocalDateTime orderDate, String status,
+                           int itemCount, BigDecimal totalAmount, String latestDeliveryId, String deliveryStatus) {
+        this.orderNumber = orderNumber;
+        this.customerId = customerId;
+        this.orderDate = orderDate;
+        this.status = status;
+        this.itemCount = itemCount;
+        this.totalAmount = totalAmount;
+        this.latestDeliveryId = latestDeliveryId;
+        this.deliveryStatus = deliveryStatus;
+    }
+
+    public String getOrderNumber() { return orderNumber; }
+    public void setOrderNumber(String orderNumber) { this.orderNumber = orderNumber; }
+
+    public String getCustomerId() { return customerId; }
+    public void setCustomerId(String customerId) { this.customerId = customerId; }
+
+    public LocalDateTime getOrderDate() { return orderDate; }
+    public void setOrderDate(LocalDateTime orderDate) { this.orderDate = orderDate; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public int getItemCount() { return itemCount; }
+    public void setItemCount(int itemCount) { this.itemCount = itemCount; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public String getLatestDeliveryId() { return latestDeliveryId; }
+    public void setLatestDeliveryId(String latestDeliveryId) { this.latestDeliveryId = latestDeliveryId; }
+
+    public String getDeliveryStatus() { return deliveryStatus; }
+    public void setDeliveryStatus(String deliveryStatus) { this.deliveryStatus = deliveryStatus; }
+}
@@ -0,0 +1,29 @@
+package com.example.hexagonalorders.infrastructure.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a page of order summaries.
+ * The next page is requested by passing {@code nextCursor} as the {@code after} parameter.
+ */
+public class OrderSummaryPageDto {
+    @Schema(description = "Summaries of this page, in ascending order number.")
+    private List<OrderSummaryDto> items;
+
+    @Schema(description = "Cursor of the next page; null when this is the last page.")
+    private String nextCursor;
+
+    public OrderSummaryPageDto() {}
+
+    public OrderSummaryPageDto(List<OrderSummaryDto> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<OrderSummaryDto> getItems() { return items; }
+    public void setItems(List<OrderSummaryDto> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,28 @@
+package com.example.hexagonalorders.infrastructure.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a set of sales totals.
+ */
+public class SalesStatsDto {
+    @Schema(description = "ROLLUP when answered from the in-memory daily totals, QUERY when computed by the database.", example = "ROLLUP")
+    private String source;
+
+    @Schema(description = "Totals by day in ascending date order, or by product or customer in descending revenue order.")
+    private List<SalesTotalDto> totals;
+
+    public SalesStatsDto() {}
+
+    public SalesStatsDto(String source, List<SalesTotalDto> totals) {
+        this.source = source;
+        this.totals = totals;
+    }
+
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+
+    public List<SalesTotalDto> getTotals() { return totals; }
+    public void setTotals(List<SalesTotalDto> totals) { this.totals = totals; }
+}
@@ -0,0 +1,42 @@
+package com.example.hexagonalorders.infrastructure.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for the sales of one day, product or customer.
+ */
+public class SalesTotalDto {
+    @Schema(description = "Day (ISO date), product number or customer identifier.", example = "2024-06-18")
+    private String key;
+
+    @Schema(description = "Number of orders.", example = "12")
+    private long orders;
+
+    @Schema(description = "Number of units sold.", example = "30")
+    private long units;
+
+    @Schema(description = "Sum of quantity times unit price.", example = "299.70")
+    private BigDecimal revenue;
+
+    public SalesTotalDto() {}
+
+    public SalesTotalDto(String key, long orders, long units, BigDecimal revenue) {
+        this.key = key;
+        this.orders = orders;
+        this.units = units;
+        this.revenue = revenue;
+    }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public long getOrders() { return orders; }
+    public void setOrders(long orders) { this.orders = orders; }
+
+    public long getUnits() { return units; }
+    public void setUnits(long units) { this.units = units; }
+
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+}
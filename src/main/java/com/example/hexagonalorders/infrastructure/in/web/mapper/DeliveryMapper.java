@@ -1,11 +1,13 @@
 package com.example.hexagonalorders.infrastructure.in.web.mapper;
 
+import com.example.hexagonalorders.domain.exception.InvalidInputException;
 import com.example.hexagonalorders.domain.model.Delivery;
 import com.example.hexagonalorders.domain.model.DeliveryStatus;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryAddress;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryDate;
 import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import com.example.hexagonalorders.domain.port.out.DeliveryQueryRepository.DeliveryView;
 import com.example.hexagonalorders.infrastructure.in.web.dto.DeliveryDto;
 import com.example.hexagonalorders.infrastructure.in.web.dto.DeliveryAddressDto;
 import org.springframework.stereotype.Component;
@@ -32,6 +34,20 @@ public class DeliveryMapper {
         );
     }
     
+    public DeliveryDto toDto(DeliveryView delivery) {
+        if (delivery == null) {
+            return null;
+        }
+        return new DeliveryDto(
+            delivery.deliveryId(),
+            delivery.orderNumber(),
+            new DeliveryAddressDto(delivery.street(), delivery.city(), delivery.state(), delivery.postalCode(), delivery.country()),
+            delivery.scheduledDate(),
+            delivery.status().name(),
+            delivery.deliveryNotes()
+        );
+    }
+    
     public Delivery toDomain(DeliveryDto dto) {
         if (dto == null) {
             return null;
@@ -98,12 +114,17 @@ public class DeliveryMapper {
 
     public DeliveryCreationData toCreationData(DeliveryDto dto) {
         if (dto == null) return null;
-        return new DeliveryCreationData(
-            dto.getOrderNumber(),
-            toDomainAddress(dto.getDeliveryAddress()),
-            new DeliveryDate(dto.getScheduledDate()),
-            DeliveryStatus.valueOf(dto.getStatus()),
-            dto.getDeliveryNotes()
-        );
+        try {
+            return new DeliveryCreationData(
+                dto.getOrderNumber(),
+                toDomainAddress(dto.getDeliveryAddress()),
+                new DeliveryDate(dto.getScheduledDate()),
+                DeliveryStatus.valueOf(dto.getStatus()),
+                dto.getDeliveryNotes()
+            );
+        } catch (IllegalArgumentException | NullPointerException e) {
+            // Dirección, fecha o estado inválidos en la petición
+            throw new InvalidInputException("Datos de entrega inválidos: " + e.getMessage(), e);
+        }
     }
 } 
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.hexagonalorders.infrastructure.in.web.mapper;
 
+import com.example.hexagonalorders.domain.exception.InvalidInputException;
 import com.example.hexagonalorders.domain.model.Order;
 import com.example.hexagonalorders.domain.model.OrderItem;
 import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
@@ -7,11 +8,14 @@ import com.example.hexagonalorders.domain.model.valueobject.ProductNumber;
 import com.example.hexagonalorders.domain.model.valueobject.Quantity;
 import com.example.hexagonalorders.domain.model.OrderStatus;
 import com.example.hexagonalorders.infrastructure.in.web.dto.OrderDto;
+import com.example.hexagonalorders.domain.port.out.OrderQueryRepository.OrderView;
 import com.example.hexagonalorders.infrastructure.in.web.dto.OrderItemDto;
+import com.example.hexagonalorders.infrastructure.in.web.dto.OrderItemResponseDto;
 import com.example.hexagonalorders.infrastructure.in.web.dto.OrderResponseDto;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,6 +33,29 @@ public class OrderMapper {
         }
         return new OrderResponseDto(order, id);
     }
+
+    public OrderResponseDto toResponseDto(OrderView order) {
+        if (order == null) {
+            return null;
+        }
+        OrderResponseDto dto = new OrderResponseDto();
+        dto.setId(order.id());
+        dto.setOrderNumber(order.orderNumber());
+        dto.setCustomerId(order.customerId());
+        dto.setOrderDate(order.orderDate());
+        dto.setStatus(order.status().name());
+        List<OrderItemResponseDto> items = new ArrayList<>(order.items().size());
+        for (var item : order.items()) {
+            OrderItemResponseDto itemDto = new OrderItemResponseDto();
+            itemDto.setId(item.id());
+            itemDto.setProductNumber(item.productNumber());
+            itemDto.setQuantity(item.quantity());
+            itemDto.setUnitPrice(item.unitPrice());
+            items.add(itemDto);
+        }
+        dto.setItems(items);
+        return dto;
+    }
     
     public Order toDomain(OrderDto dto) {
         if (dto == null) {
@@ -38,7 +65,7 @@ public class OrderMapper {
         try {
             status = OrderStatus.valueOf(dto.getStatus().toUpperCase());
         } catch (Exception e) {
-            throw new IllegalArgumentException("Estado de orden inválido: " + dto.getStatus() + ". Valores permitidos: CREATED, PENDING, CONFIRMED, SHIPPED, DELIVERED, CANCELLED");
+            throw new InvalidInputException("Estado de orden inválido: " + dto.getStatus() + ". Valores permitidos: CREATED, PENDING, CONFIRMED, SHIPPED, DELIVERED, CANCELLED");
         }
         
         // Si el orderNumber es nulo o vacío, no crear la entidad Order aquí
@@ -68,13 +95,19 @@ public class OrderMapper {
         try {
             status = OrderStatus.valueOf(dto.getStatus().toUpperCase());
         } catch (Exception e) {
-            throw new IllegalArgumentException("Estado de orden inválido: " + dto.getStatus() + ". Valores permitidos: CREATED, PENDING, CONFIRMED, SHIPPED, DELIVERED, CANCELLED");
+            throw new InvalidInputException("Estado de orden inválido: " + dto.getStatus() + ". Valores permitidos: CREATED, PENDING, CONFIRMED, SHIPPED, DELIVERED, CANCELLED");
         }
         
+        List<OrderItem> items;
+        try {
+            items = toDomainItems(dto.getItems());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException(e.getMessage(), e);
+        }
         return new OrderCreationData(
             dto.getCustomerId(),
             dto.getOrderDate(),
-            toDomainItems(dto.getItems()),
+            items,
             status
         );
     }
@@ -0,0 +1,293 @@
+package com.example.hexagonalorders.infrastructure.out.codec;
+
+import com.example.hexagonalorders.domain.event.DeliveryCreatedEvent;
+import com.example.hexagonalorders.domain.event.DeliveryStatusChangedEvent;
+import com.example.hexagonalorders.domain.event.DomainEvent;
+import com.example.hexagonalorders.domain.event.OrderCreatedEvent;
+import com.example.hexagonalorders.domain.event.OrderDeletedEvent;
+import com.example.hexagonalorders.domain.event.OrderItemAddedEvent;
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.model.OrderStatus;
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import com.example.hexagonalorders.domain.model.valueobject.ProductNumber;
+import com.example.hexagonalorders.domain.model.valueobject.Quantity;
+import com.example.hexagonalorders.domain.port.out.EventCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact binary implementation of the EventCodec port.
+ *
+ * Layout of an encoded event:
+ * <pre>
+ *   byte    schema version
+ *   byte    flags (bit 0: body is deflate-compressed)
+ *   byte    event type code
+ *   ...     body
+ * </pre>
+ * The body starts with the event id (two longs) and the time it occurred (epoch
+ * seconds and nanos, read as UTC), followed by the fields of the event type.
+ * Nullable values are preceded by a presence byte. Bodies of at least
+ * {@code outbox.codec.compression-threshold} bytes are deflated when that makes
+ * them smaller.
+ *
+ * As the {@link EventCodec} contract allows, the items of an order-created event
+ * are not encoded: encoding them would let a large order exceed the size of the
+ * outbox payload column and fail its own creation. Decoded order-created events
+ * carry the item count and total, with no items.
+ *
+ * Payloads of any other schema version are rejected; a change to the layout of a
+ * released version must bump it and keep decoding the previous one.
+ */
+@Component
+public class BinaryEventCodec implements EventCodec {
+
+    static final byte SCHEMA_VERSION = 1;
+
+    private static final byte FLAG_COMPRESSED = 0x01;
+    private static final int HEADER_LENGTH = 3;
+
+    private static final byte ORDER_CREATED = 1;
+    private static final byte ORDER_ITEM_ADDED = 2;
+    private static final byte DELIVERY_CREATED = 3;
+    private static final byte DELIVERY_STATUS_CHANGED = 4;
+    private static final byte ORDER_DELETED = 5;
+
+    private final int compressionThreshold;
+
+    public BinaryEventCodec(@Value("${outbox.codec.compression-threshold:512}") int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] encode(DomainEvent event) {
+        try {
+            ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(64);
+            DataOutputStream body = new DataOutputStream(bodyBytes);
+            body.writeLong(event.getEventId().getMostSignificantBits());
+            body.writeLong(event.getEventId().getLeastSignificantBits());
+            body.writeLong(event.getOccurredOn().toEpochSecond(ZoneOffset.UTC));
+            body.writeInt(event.getOccurredOn().getNano());
+
+            byte typeCode;
+            if (event instanceof OrderCreatedEvent e) {
+                typeCode = ORDER_CREATED;
+                writeNullableLong(body, e.getOrderId());
+                body.writeUTF(e.getOrderNumber().value());
+                writeNullableString(body, e.getCustomerId());
+                writeNullableDateTime(body, e.getOrderDate());
+                writeNullableString(body, e.getStatus() == null ? null : e.getStatus().name());
+                body.writeInt(e.getItemCount());
+                writeNullableDecimal(body, e.getTotalAmount());
+            } else if (event instanceof OrderItemAddedEvent e) {
+                typeCode = ORDER_ITEM_ADDED;
+                writeNullableLong(body, e.getOrderId());
+                writeNullableLong(body, e.getItemId());
+                body.writeUTF(e.getProductNumber().value());
+                body.writeInt(e.getQuantity().value());
+                writeNullableString(body, e.getOrderNumber() == null ? null : e.getOrderNumber().value());
+                writeNullableDecimal(body, e.getUnitPrice());
+            } else if (event instanceof DeliveryCreatedEvent e) {
+                typeCode = DELIVERY_CREATED;
+                body.writeUTF(e.getDeliveryId());
+                body.writeUTF(e.getOrderNumber());
+                writeNullableString(body, e.getStatus() == null ? null : e.getStatus().name());
+            } else if (event instanceof DeliveryStatusChangedEvent e) {
+                typeCode = DELIVERY_STATUS_CHANGED;
+                body.writeUTF(e.getDeliveryId());
+                body.writeUTF(e.getNewStatus().name());
+            } else if (event instanceof OrderDeletedEvent e) {
+                typeCode = ORDER_DELETED;
+                body.writeUTF(e.getOrderNumber().value());
+            } else {
+                throw new IllegalArgumentException("Unsupported event type: " + event.getClass().getName());
+            }
+            body.flush();
+
+            byte flags = 0;
+            byte[] encodedBody = bodyBytes.toByteArray();
+            if (encodedBody.length >= compressionThreshold) {
+                byte[] compressed = deflate(encodedBody);
+                if (compressed.length < encodedBody.length) {
+                    encodedBody = compressed;
+                    flags |= FLAG_COMPRESSED;
+                }
+            }
+
+            byte[] payload = new byte[HEADER_LENGTH + encodedBody.length];
+            payload[0] = SCHEMA_VERSION;
+            payload[1] = flags;
+            payload[2] = typeCode;
+            System.arraycopy(encodedBody, 0, payload, HEADER_LENGTH, encodedBody.length);
+            return payload;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode event " + event.getEventId(), e);
+        }
+    }
+
+    @Override
+    public DomainEvent decode(byte[] payload) {
+        if (payload == null || payload.length < HEADER_LENGTH) {
+            throw new IllegalArgumentException("Payload is too short to be an encoded event");
+        }
+        if (payload[0] != SCHEMA_VERSION) {
+            throw new IllegalArgumentException("Unsupported event schema version: " + payload[0]);
+        }
+        byte[] encodedBody = Arrays.copyOfRange(payload, HEADER_LENGTH, payload.length);
+        if ((payload[1] & FLAG_COMPRESSED) != 0) {
+            encodedBody = inflate(encodedBody);
+        }
+
+        try {
+            DataInputStream body = new DataInputStream(new ByteArrayInputStream(encodedBody));
+            UUID eventId = new UUID(body.readLong(), body.readLong());
+            LocalDateTime occurredOn = LocalDateTime.ofEpochSecond(body.readLong(), body.readInt(), ZoneOffset.UTC);
+
+            return switch (payload[2]) {
+                case ORDER_CREATED -> {
+                    Long orderId = readNullableLong(body);
+                    OrderNumber orderNumber = new OrderNumber(body.readUTF());
+                    String customerId = readNullableString(body);
+                    LocalDateTime orderDate = readNullableDateTime(body);
+                    String status = readNullableString(body);
+                    int itemCount = body.readInt();
+                    BigDecimal totalAmount = readNullableDecimal(body);
+                    yield new OrderCreatedEvent(eventId, occurredOn, orderId, orderNumber, customerId, orderDate,
+                        status == null ? null : OrderStatus.valueOf(status), itemCount, totalAmount, List.of());
+                }
+                case ORDER_ITEM_ADDED -> {
+                    Long orderId = readNullableLong(body);
+                    Long itemId = readNullableLong(body);
+                    ProductNumber productNumber = new ProductNumber(body.readUTF());
+                    Quantity quantity = new Quantity(body.readInt());
+                    String orderNumber = readNullableString(body);
+                    BigDecimal unitPrice = readNullableDecimal(body);
+                    yield new OrderItemAddedEvent(eventId, occurredOn, orderId,
+                        orderNumber == null ? null : new OrderNumber(orderNumber), itemId, productNumber, quantity, unitPrice);
+                }
+                case DELIVERY_CREATED -> {
+                    String deliveryId = body.readUTF();
+                    String orderNumber = body.readUTF();
+                    String status = readNullableString(body);
+                    yield new DeliveryCreatedEvent(eventId, occurredOn, deliveryId, orderNumber,
+                        status == null ? null : DeliveryStatus.valueOf(status));
+                }
+                case DELIVERY_STATUS_CHANGED -> new DeliveryStatusChangedEvent(eventId, occurredOn,
+                    body.readUTF(), DeliveryStatus.valueOf(body.readUTF()));
+                case ORDER_DELETED -> new OrderDeletedEvent(eventId, occurredOn, new OrderNumber(body.readUTF()));
+                default -> throw new IllegalArgumentException("Unknown event type code: " + payload[2]);
+            };
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed event payload", e);
+        }
+    }
+
+    private static void writeNullableLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readNullableLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullableDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readNullableDateTime(DataInputStream in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+
+    private static void writeNullableDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            // Escala y valor sin escala: exacto y sin pasar por texto
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            out.writeInt(value.scale());
+            out.writeShort(unscaled.length);
+            out.write(unscaled);
+        }
+    }
+
+    private static BigDecimal readNullableDecimal(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readShort()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length);
+            byte[] buffer = new byte[512];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 2);
+            byte[] buffer = new byte[512];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated compressed event payload");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt compressed event payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.hexagonalorders.infrastructure.out.event;
+
+import com.example.hexagonalorders.domain.model.OutboxMessage;
+import com.example.hexagonalorders.domain.port.out.MessagePublisher;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Publishes a batch of outbox messages in parallel lanes.
+ * Each message is assigned to a lane by hashing its aggregate id, and every lane is
+ * drained by a single thread, so all the events of one aggregate keep their order
+ * while unrelated aggregates are published concurrently. Within a lane the messages
+ * of different aggregates are handed to {@link MessagePublisher#publishAll(List)}
+ * together, and those of one aggregate one after the other.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final MessagePublisher messagePublisher;
+    private final OutboxMetrics metrics;
+    private final ExecutorService[] lanes;
+
+    public OutboxDispatcher(MessagePublisher messagePublisher, OutboxMetrics metrics,
+                            @Value("${outbox.dispatch.lanes:4}") int laneCount) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("outbox.dispatch.lanes must be greater than zero");
+        }
+        this.messagePublisher = messagePublisher;
+        this.metrics = metrics;
+        this.lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String threadName = "outbox-lane-" + i;
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Publishes the given messages and waits until every lane has finished.
+     *
+     * @param messages the messages to publish, in the order they must be published per aggregate
+     * @return the ids of the published and of the failed messages
+     */
+    public DispatchResult dispatch(List<OutboxMessage> messages) {
+        List<List<OutboxMessage>> messagesByLane = new ArrayList<>(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            messagesByLane.add(new ArrayList<>());
+        }
+        for (OutboxMessage message : messages) {
+            messagesByLane.get(laneOf(message)).add(message);
+        }
+
+        List<Future<DispatchResult>> laneResults = new ArrayList<>(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            List<OutboxMessage> laneMessages = messagesByLane.get(i);
+            if (!laneMessages.isEmpty()) {
+                laneResults.add(lanes[i].submit(() -> publishInOrder(laneMessages)));
+            }
+        }
+
+        List<UUID> processedIds = new ArrayList<>(messages.size());
+        List<UUID> failedIds = new ArrayList<>();
+        for (Future<DispatchResult> laneResult : laneResults) {
+            try {
+                DispatchResult result = laneResult.get();
+                processedIds.addAll(result.processedIds());
+                failedIds.addAll(result.failedIds());
+            } catch (InterruptedException e) {
+                // Lo no confirmado se vuelve a reclamar cuando venza el lease
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.error("Outbox lane failed unexpectedly", e.getCause());
+            }
+        }
+        return new DispatchResult(processedIds, failedIds);
+    }
+
+    /**
+     * Publishes the lane in rounds: each round holds the next message of every aggregate
+     * in the lane and is handed to the publisher as one batch, so a broker adapter can
+     * pipeline the sends of unrelated aggregates. The next message of an aggregate is only
+     * sent once the previous one has been acknowledged; when a message fails, the later
+     * messages of its aggregate are not published and are reported as failed with it.
+     */
+    private DispatchResult publishInOrder(List<OutboxMessage> laneMessages) {
+        Map<UUID, Deque<OutboxMessage>> messagesByAggregate = new LinkedHashMap<>();
+        for (OutboxMessage message : laneMessages) {
+            messagesByAggregate.computeIfAbsent(message.aggregateId(), id -> new ArrayDeque<>()).add(message);
+        }
+
+        List<UUID> processedIds = new ArrayList<>(laneMessages.size());
+        List<UUID> failedIds = new ArrayList<>();
+        while (!messagesByAggregate.isEmpty()) {
+            List<OutboxMessage> round = new ArrayList<>(messagesByAggregate.size());
+            for (Deque<OutboxMessage> aggregateMessages : messagesByAggregate.values()) {
+                round.add(aggregateMessages.poll());
+            }
+            messagesByAggregate.values().removeIf(Deque::isEmpty);
+
+            for (OutboxMessage failed : publishRound(round, processedIds, failedIds)) {
+                // Publicar los siguientes eventos del agregado los adelantaría al que falló
+                Deque<OutboxMessage> heldBack = messagesByAggregate.remove(failed.aggregateId());
+                if (heldBack != null) {
+                    log.warn("Holding back {} messages of aggregate {} behind failed message {}",
+                        heldBack.size(), failed.aggregateId(), failed.id());
+                    heldBack.forEach(message -> failedIds.add(message.id()));
+                }
+            }
+        }
+        return new DispatchResult(processedIds, failedIds);
+    }
+
+    /**
+     * Publishes one round, at most one message per aggregate, and waits for every acknowledgement.
+     *
+     * @return the messages of the round that failed
+     */
+    private List<OutboxMessage> publishRound(List<OutboxMessage> round, List<UUID> processedIds, List<UUID> failedIds) {
+        List<MessagePublisher.Message> batch = new ArrayList<>(round.size());
+        for (OutboxMessage message : round) {
+            batch.add(new MessagePublisher.Message(message.eventType(), message.aggregateId().toString(), message.payload()));
+        }
+
+        List<CompletableFuture<Void>> acknowledgements;
+        long startNanos = System.nanoTime();
+        try {
+            acknowledgements = messagePublisher.publishAll(batch);
+        } catch (Exception e) {
+            log.error("Failed to publish a batch of {} messages", batch.size(), e);
+            round.forEach(message -> {
+                metrics.recordFailed(message.eventType());
+                failedIds.add(message.id());
+            });
+            return round;
+        }
+        for (int i = 0; i < round.size(); i++) {
+            String eventType = round.get(i).eventType();
+            acknowledgements.get(i).thenRun(() -> metrics.recordPublished(eventType, System.nanoTime() - startNanos));
+        }
+
+        List<OutboxMessage> failed = new ArrayList<>();
+        for (int i = 0; i < round.size(); i++) {
+            OutboxMessage message = round.get(i);
+            try {
+                acknowledgements.get(i).join();
+                processedIds.add(message.id());
+                log.debug("Successfully published message with id: {}", message.id());
+            } catch (CompletionException | CancellationException e) {
+                log.error("Failed to process message with id: {}", message.id(), e.getCause() != null ? e.getCause() : e);
+                metrics.recordFailed(message.eventType());
+                failedIds.add(message.id());
+                failed.add(message);
+            }
+        }
+        return failed;
+    }
+
+    private int laneOf(OutboxMessage message) {
+        return Math.floorMod(message.aggregateId().hashCode(), lanes.length);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    /**
+     * Outcome of dispatching a batch.
+     */
+    public record DispatchResult(List<UUID> processedIds, List<UUID> failedIds) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.hexagonalorders.infrastructure.out.event;
+
+import com.example.hexagonalorders.domain.port.out.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Micrometer metrics of the outbox relay.
+ *
+ * Throughput, failures, publish latency and batch fill ratio are recorded by the
+ * relay itself while it works. The backlog size and the age of the oldest message
+ * come from two index-backed queries whose result is cached for
+ * {@code outbox.metrics.refresh-ms}, so frequent scrapes do not turn into frequent queries.
+ */
+@Component
+public class OutboxMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxMetrics.class);
+
+    private final MeterRegistry registry;
+    private final OutboxRepository outboxRepository;
+    private final long refreshMs;
+    private final DistributionSummary batchFillRatio;
+    private final Counter deadLettered;
+    private final Map<String, Counter> published = new ConcurrentHashMap<>();
+    private final Map<String, Counter> failed = new ConcurrentHashMap<>();
+    private final Map<String, Timer> publishLatency = new ConcurrentHashMap<>();
+
+    private volatile BacklogSnapshot backlog = new BacklogSnapshot(0, null, 0);
+
+    public OutboxMetrics(MeterRegistry registry, OutboxRepository outboxRepository,
+                         @Value("${outbox.metrics.refresh-ms:5000}") long refreshMs) {
+        this.registry = registry;
+        this.outboxRepository = outboxRepository;
+        this.refreshMs = refreshMs;
+        this.batchFillRatio = DistributionSummary.builder("outbox.batch.fill.ratio")
+            .description("Claimed messages divided by the configured batch size")
+            .register(registry);
+        this.deadLettered = Counter.builder("outbox.messages.dead.lettered")
+            .description("Messages moved to the dead letter status")
+            .register(registry);
+        Gauge.builder("outbox.backlog.size", this, metrics -> metrics.currentBacklog().size())
+            .description("Messages waiting to be published")
+            .register(registry);
+        Gauge.builder("outbox.backlog.oldest.age", this, metrics -> metrics.currentBacklog().oldestAgeSeconds())
+            .description("Age of the oldest message waiting to be published")
+            .baseUnit("seconds")
+            .register(registry);
+    }
+
+    public void recordBatch(int claimed, int batchSize) {
+        batchFillRatio.record((double) claimed / batchSize);
+    }
+
+    public void recordPublished(String eventType, long latencyNanos) {
+        published.computeIfAbsent(eventType, type -> Counter.builder("outbox.messages.published")
+            .description("Messages published")
+            .tag("event_type", type)
+            .register(registry)).increment();
+        publishLatency.computeIfAbsent(eventType, type -> Timer.builder("outbox.publish.latency")
+            .description("Time from handing a message to the publisher until it is acknowledged")
+            .tag("event_type", type)
+            .publishPercentileHistogram()
+            .register(registry)).record(Duration.ofNanos(latencyNanos));
+    }
+
+    public void recordFailed(String eventType) {
+        failed.computeIfAbsent(eventType, type -> Counter.builder("outbox.messages.failed")
+            .description("Failed publishing attempts")
+            .tag("event_type", type)
+            .register(registry)).increment();
+    }
+
+    public void recordDeadLettered(int count) {
+        deadLettered.increment(count);
+    }
+
+    private BacklogSnapshot currentBacklog() {
+        BacklogSnapshot snapshot = backlog;
+        long now = System.currentTimeMillis();
+        if (now - snapshot.takenAtMillis() < refreshMs) {
+            return snapshot;
+        }
+        synchronized (this) {
+            snapshot = backlog;
+            if (now - snapshot.takenAtMillis() < refreshMs) {
+                return snapshot;
+            }
+            try {
+                snapshot = new BacklogSnapshot(outboxRepository.countBacklog(),
+                    outboxRepository.findOldestBacklogCreatedAt().orElse(null), now);
+            } catch (Exception e) {
+                log.warn("Could not refresh outbox backlog metrics", e);
+                snapshot = new BacklogSnapshot(snapshot.size(), snapshot.oldestCreatedAt(), now);
+            }
+            backlog = snapshot;
+            return snapshot;
+        }
+    }
+
+    private record BacklogSnapshot(long size, Instant oldestCreatedAt, long takenAtMillis) {
+        double oldestAgeSeconds() {
+            if (oldestCreatedAt == null) {
+                return 0;
+            }
+            return Math.max(0, Duration.between(oldestCreatedAt, Instant.now()).toMillis() / 1000.0);
+        }
+    }
+}
@@ -1,71 +1,215 @@
 package com.example.hexagonalorders.infrastructure.out.event;
 
 import com.example.hexagonalorders.domain.model.OutboxMessage;
-import com.example.hexagonalorders.domain.port.out.MessagePublisher;
 import com.example.hexagonalorders.domain.port.out.OutboxRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Relays outbox messages to the message publisher.
+ * Messages are claimed with a lease before publishing, so several instances of the
+ * application can drain the same outbox without publishing a message twice while
+ * the lease holds. Messages left behind by a crashed node are claimed again once
+ * their lease expires. Publishing itself is delegated to {@link OutboxDispatcher};
+ * failed messages are retried later according to {@link OutboxRetryPolicy}.
+ *
+ * The relay runs on its own thread. It is woken through {@link OutboxSignal} when a
+ * transaction that wrote outbox messages commits; otherwise it polls adaptively:
+ * immediately again while batches come back full, and with an exponentially growing
+ * delay, capped at {@code outbox.poll.max-ms}, while the outbox is empty.
+ */
 @Component
-public class OutboxProcessor {
+public class OutboxProcessor implements SmartLifecycle {
     
     private static final Logger log = LoggerFactory.getLogger(OutboxProcessor.class);
     
     private final OutboxRepository outboxRepository;
-    private final MessagePublisher messagePublisher;
+    private final OutboxDispatcher outboxDispatcher;
+    private final OutboxSignal outboxSignal;
+    private final OutboxRetryPolicy retryPolicy;
+    private final OutboxMetrics metrics;
     
     @Value("${outbox.batch.size:10}")
     private int batchSize;
     
-    public OutboxProcessor(OutboxRepository outboxRepository, MessagePublisher messagePublisher) {
+    @Value("${outbox.lease.ms:30000}")
+    private long leaseMs;
+    
+    @Value("${outbox.node-id:#{T(java.util.UUID).randomUUID().toString()}}")
+    private String nodeId;
+    
+    @Value("${outbox.poll.min-ms:5}")
+    private long minPollMs;
+    
+    @Value("${outbox.poll.max-ms:${outbox.poll.ms:1000}}")
+    private long maxPollMs;
+    
+    private volatile boolean running;
+    private Thread relayThread;
+    
+    public OutboxProcessor(OutboxRepository outboxRepository, OutboxDispatcher outboxDispatcher,
+                           OutboxSignal outboxSignal, OutboxRetryPolicy retryPolicy, OutboxMetrics metrics) {
         this.outboxRepository = outboxRepository;
-        this.messagePublisher = messagePublisher;
+        this.outboxDispatcher = outboxDispatcher;
+        this.outboxSignal = outboxSignal;
+        this.retryPolicy = retryPolicy;
+        this.metrics = metrics;
     }
     
-    @Scheduled(fixedDelayString = "${outbox.poll.ms:1000}")
-    @Transactional
-    public void processPendingMessages() {
+    /**
+     * Claims, publishes and acknowledges one batch of pending messages.
+     *
+     * @return the number of messages claimed
+     */
+    public int processPendingMessages() {
         try {
             log.debug("Starting to process pending outbox messages");
             
-            // Extrae una página de mensajes con estado PENDING
-            List<OutboxMessage> pendingMessages = outboxRepository.findPending(batchSize);
+            // Reclama una página de mensajes vencidos (o con lease vencido) para este nodo
+            List<OutboxMessage> pendingMessages = outboxRepository.claimPending(nodeId, batchSize, Duration.ofMillis(leaseMs));
             
             if (pendingMessages.isEmpty()) {
                 log.debug("No pending messages to process");
-                return;
+                return 0;
             }
             
             log.info("Processing {} pending messages", pendingMessages.size());
+            metrics.recordBatch(pendingMessages.size(), batchSize);
             
+            // Un mensaje que agotó sus intentos al recuperar leases vencidos no se vuelve a publicar
+            List<OutboxMessage> publishable = new ArrayList<>(pendingMessages.size());
+            List<UUID> exhaustedIds = new ArrayList<>();
             for (OutboxMessage message : pendingMessages) {
-                try {
-                    // Publica el mensaje
-                    messagePublisher.publish(message.eventType(), message.payload());
-                    
-                    // Actualiza el estado a PROCESSED
-                    outboxRepository.markProcessed(message.id());
-                    
-                    log.debug("Successfully processed message with id: {}", message.id());
-                    
-                } catch (Exception e) {
-                    log.error("Failed to process message with id: {}", message.id(), e);
-                    
-                    // Actualiza el estado a FAILED
-                    outboxRepository.markFailed(message.id());
+                if (retryPolicy.isExhausted(message.attempts())) {
+                    log.warn("Message with id {} lost its lease {} times, moving it to the dead letter status",
+                        message.id(), message.attempts());
+                    exhaustedIds.add(message.id());
+                } else {
+                    publishable.add(message);
                 }
             }
+            deadLetter(exhaustedIds);
+            
+            // Publica en paralelo por agregado, conservando el orden dentro de cada uno
+            OutboxDispatcher.DispatchResult result = outboxDispatcher.dispatch(publishable);
+            
+            // Confirma el resultado del lote con una sola actualización por estado
+            int acknowledged = outboxRepository.markAllProcessed(nodeId, result.processedIds());
+            if (acknowledged < result.processedIds().size()) {
+                // El lease venció y otro nodo reclamó esos mensajes: los confirmará él
+                log.warn("Lost the lease of {} published messages before acknowledging them",
+                    result.processedIds().size() - acknowledged);
+            }
+            handleFailures(pendingMessages, result.failedIds());
             
             log.debug("Finished processing pending outbox messages");
+            return pendingMessages.size();
             
         } catch (Exception e) {
             log.error("Error in outbox processor", e);
+            return 0;
+        }
+    }
+    
+    /**
+     * Schedules a retry for every failed message, or dead-letters it once it has
+     * exhausted its attempts. Retries due in the same bucket are recorded together.
+     */
+    private void handleFailures(List<OutboxMessage> claimedMessages, List<UUID> failedIds) {
+        if (failedIds.isEmpty()) {
+            return;
+        }
+        Map<UUID, OutboxMessage> messagesById = claimedMessages.stream()
+            .collect(Collectors.toMap(OutboxMessage::id, Function.identity()));
+        Instant now = Instant.now();
+        Map<Instant, List<UUID>> retriesByTime = new TreeMap<>();
+        List<UUID> deadLetterIds = new ArrayList<>();
+        for (UUID id : failedIds) {
+            int failedAttempts = messagesById.get(id).attempts() + 1;
+            if (retryPolicy.isExhausted(failedAttempts)) {
+                log.warn("Message with id {} failed {} times, moving it to the dead letter status", id, failedAttempts);
+                deadLetterIds.add(id);
+            } else {
+                retriesByTime.computeIfAbsent(retryPolicy.nextAttemptAt(failedAttempts, now), time -> new ArrayList<>())
+                    .add(id);
+            }
+        }
+        retriesByTime.forEach((nextAttemptAt, ids) -> {
+            int scheduled = outboxRepository.scheduleRetry(nodeId, ids, nextAttemptAt);
+            if (scheduled < ids.size()) {
+                log.warn("Lost the lease of {} messages before scheduling their retry", ids.size() - scheduled);
+            }
+        });
+        deadLetter(deadLetterIds);
+    }
+    
+    private void deadLetter(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        int deadLettered = outboxRepository.markAllDeadLettered(nodeId, ids);
+        if (deadLettered < ids.size()) {
+            log.warn("Lost the lease of {} messages before dead-lettering them", ids.size() - deadLettered);
+        }
+        metrics.recordDeadLettered(deadLettered);
+    }
+    
+    private void relayLoop() {
+        long idleDelayMs = minPollMs;
+        while (running) {
+            int claimed = processPendingMessages();
+            if (claimed >= batchSize) {
+                // Hay backlog: seguir drenando sin esperar
+                idleDelayMs = minPollMs;
+                continue;
+            }
+            idleDelayMs = claimed > 0 ? minPollMs : Math.min(Math.max(idleDelayMs * 2, 1), maxPollMs);
+            try {
+                if (outboxSignal.await(idleDelayMs)) {
+                    idleDelayMs = minPollMs;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
         }
     }
-} 
\ No newline at end of file
+    
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        relayThread = new Thread(this::relayLoop, "outbox-relay");
+        relayThread.setDaemon(true);
+        relayThread.start();
+    }
+    
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (relayThread != null) {
+            relayThread.interrupt();
+            relayThread = null;
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.hexagonalorders.infrastructure.out.event;
+
+import com.example.hexagonalorders.domain.port.out.OutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Deletes processed outbox messages once they are older than the retention window,
+ * so the outbox table stays proportional to the live backlog instead of the whole history.
+ * Each run deletes in chunks of {@code outbox.retention.chunk-size} rows, every chunk in
+ * its own short transaction, and stops after {@code outbox.retention.max-chunks} chunks
+ * so a large backlog of history is worked off over several runs.
+ * Dead-lettered messages are kept for inspection.
+ */
+@Component
+public class OutboxPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxPurger.class);
+
+    private final OutboxRepository outboxRepository;
+
+    @Value("${outbox.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.retention.ms:604800000}")
+    private long retentionMs;
+
+    @Value("${outbox.retention.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${outbox.retention.max-chunks:100}")
+    private int maxChunks;
+
+    public OutboxPurger(OutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    @Scheduled(initialDelayString = "${outbox.retention.purge-interval-ms:60000}",
+               fixedDelayString = "${outbox.retention.purge-interval-ms:60000}")
+    public void purgeProcessedMessages() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Instant cutoff = Instant.now().minusMillis(retentionMs);
+            int purged = 0;
+            for (int chunk = 0; chunk < maxChunks; chunk++) {
+                int deleted = outboxRepository.deleteProcessedBefore(cutoff, chunkSize);
+                purged += deleted;
+                if (deleted < chunkSize) {
+                    break;
+                }
+            }
+            if (purged > 0) {
+                log.info("Purged {} processed outbox messages older than {}", purged, cutoff);
+            }
+        } catch (Exception e) {
+            log.error("Error purging processed outbox messages", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.hexagonalorders.infrastructure.out.event;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides when a message whose publishing failed is attempted again.
+ * Delays grow exponentially from {@code outbox.retry.initial-ms} by
+ * {@code outbox.retry.multiplier} up to {@code outbox.retry.max-ms}, with a random
+ * jitter of {@code outbox.retry.jitter} (as a fraction of the delay) so messages that
+ * failed together do not all come back at the same instant. The resulting time is
+ * rounded up to a multiple of {@code outbox.retry.bucket-ms}, so retries that fall in
+ * the same bucket can be recorded with a single update. After
+ * {@code outbox.retry.max-attempts} failed attempts the message is dead-lettered.
+ */
+@Component
+public class OutboxRetryPolicy {
+
+    private final long initialDelayMs;
+    private final double multiplier;
+    private final long maxDelayMs;
+    private final double jitter;
+    private final int maxAttempts;
+    private final long bucketMs;
+
+    public OutboxRetryPolicy(@Value("${outbox.retry.initial-ms:1000}") long initialDelayMs,
+                             @Value("${outbox.retry.multiplier:2.0}") double multiplier,
+                             @Value("${outbox.retry.max-ms:300000}") long maxDelayMs,
+                             @Value("${outbox.retry.jitter:0.2}") double jitter,
+                             @Value("${outbox.retry.max-attempts:10}") int maxAttempts,
+                             @Value("${outbox.retry.bucket-ms:1000}") long bucketMs) {
+        this.initialDelayMs = initialDelayMs;
+        this.multiplier = multiplier;
+        this.maxDelayMs = maxDelayMs;
+        this.jitter = jitter;
+        this.maxAttempts = maxAttempts;
+        this.bucketMs = Math.max(1L, bucketMs);
+    }
+
+    /**
+     * @param failedAttempts the number of failed attempts, including the one that just failed
+     * @return whether the message must be dead-lettered instead of retried
+     */
+    public boolean isExhausted(int failedAttempts) {
+        return failedAttempts >= maxAttempts;
+    }
+
+    /**
+     * @param failedAttempts the number of failed attempts, including the one that just failed
+     * @param now the time of the failure
+     * @return the earliest time of the next attempt
+     */
+    public Instant nextAttemptAt(int failedAttempts, Instant now) {
+        double delay = Math.min(initialDelayMs * Math.pow(multiplier, failedAttempts - 1), maxDelayMs);
+        if (jitter > 0) {
+            delay += delay * jitter * ThreadLocalRandom.current().nextDouble(-1.0, 1.0);
+        }
+        long dueMs = now.toEpochMilli() + Math.max(0L, Math.round(delay));
+        // Se redondea hacia arriba para no adelantar nunca el reintento
+        return Instant.ofEpochMilli(-Math.floorDiv(-dueMs, bucketMs) * bucketMs);
+    }
+}
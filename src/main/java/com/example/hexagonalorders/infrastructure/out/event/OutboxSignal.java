@@ -0,0 +1,46 @@
+package com.example.hexagonalorders.infrastructure.out.event;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wake-up signal between the code that writes outbox messages and the outbox relay.
+ * Signals raised while nobody is waiting are remembered until the next wait, so a
+ * commit that happens while the relay is busy still triggers another drain.
+ */
+@Component
+public class OutboxSignal {
+
+    private final Object monitor = new Object();
+    private boolean signalled;
+
+    public void signal() {
+        synchronized (monitor) {
+            signalled = true;
+            monitor.notifyAll();
+        }
+    }
+
+    /**
+     * Waits until a signal arrives or the timeout elapses.
+     *
+     * @param timeoutMs the maximum time to wait, in milliseconds
+     * @return {@code true} if the wait ended because of a signal
+     */
+    public boolean await(long timeoutMs) throws InterruptedException {
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        long deadline = System.nanoTime() + remainingNanos;
+        synchronized (monitor) {
+            while (!signalled) {
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(monitor, remainingNanos);
+                remainingNanos = deadline - System.nanoTime();
+            }
+            signalled = false;
+            return true;
+        }
+    }
+}
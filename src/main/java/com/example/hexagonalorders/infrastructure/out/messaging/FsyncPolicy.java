@@ -0,0 +1,21 @@
+package com.example.hexagonalorders.infrastructure.out.messaging;
+
+/**
+ * When the {@link LogMessagePublisher} forces appended records to disk.
+ */
+public enum FsyncPolicy {
+    /**
+     * Never force explicitly; the operating system writes dirty pages back on its own schedule.
+     */
+    NEVER,
+    /**
+     * Force every {@code messaging.log.fsync-interval-ms}. A crash can lose at most one interval
+     * of acknowledged records.
+     */
+    INTERVAL,
+    /**
+     * Force before acknowledging each append. A batch is forced once, so the cost is shared by
+     * all of its records.
+     */
+    ALWAYS
+}
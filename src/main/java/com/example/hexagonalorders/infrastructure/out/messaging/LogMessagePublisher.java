@@ -0,0 +1,172 @@
+package com.example.hexagonalorders.infrastructure.out.messaging;
+
+import com.example.hexagonalorders.domain.port.out.MessagePublisher;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MessagePublisher that appends every message to a local, memory-mapped log with one
+ * directory per topic under {@code messaging.log.dir}. It is a durable sink for single-node
+ * deployments and a stand-in for a broker when measuring the outbox relay.
+ * Enabled with {@code messaging.publisher=log}.
+ *
+ * A batch is appended to each of its topics under a single lock acquisition and, depending
+ * on {@code messaging.log.fsync}, forced to disk once per batch, once per interval or never.
+ * Published records can be read back by offset through {@link #read(String, long, int)}.
+ */
+@Component
+@ConditionalOnProperty(name = "messaging.publisher", havingValue = "log")
+public class LogMessagePublisher implements MessagePublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(LogMessagePublisher.class);
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final FsyncPolicy fsyncPolicy;
+    private final Map<String, TopicLog> topics = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    public LogMessagePublisher(@Value("${messaging.log.dir:data/message-log}") Path directory,
+                               @Value("${messaging.log.segment-bytes:67108864}") int segmentBytes,
+                               @Value("${messaging.log.fsync:INTERVAL}") FsyncPolicy fsyncPolicy,
+                               @Value("${messaging.log.fsync-interval-ms:1000}") long fsyncIntervalMs) {
+        if (segmentBytes <= LogSegment.HEADER_BYTES) {
+            throw new IllegalArgumentException("messaging.log.segment-bytes must be greater than " + LogSegment.HEADER_BYTES);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsyncPolicy = fsyncPolicy;
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "message-log-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushAll, fsyncIntervalMs, fsyncIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+        log.info("Publishing messages to the log in {} (fsync {})", directory.toAbsolutePath(), fsyncPolicy);
+    }
+
+    @Override
+    public void publish(String topic, byte[] payload) {
+        try {
+            topic(topic).append(List.of(payload));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to topic " + topic, e);
+        }
+    }
+
+    @Override
+    public List<CompletableFuture<Void>> publishAll(List<Message> messages) {
+        // Agrupa por topic conservando el orden para escribir cada topic de una vez
+        Map<String, List<Integer>> positionsByTopic = new LinkedHashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            positionsByTopic.computeIfAbsent(messages.get(i).topic(), topic -> new ArrayList<>()).add(i);
+        }
+
+        List<CompletableFuture<Void>> results = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            results.add(null);
+        }
+        for (Map.Entry<String, List<Integer>> entry : positionsByTopic.entrySet()) {
+            List<byte[]> payloads = new ArrayList<>(entry.getValue().size());
+            for (int position : entry.getValue()) {
+                payloads.add(messages.get(position).payload());
+            }
+            CompletableFuture<Void> result;
+            try {
+                topic(entry.getKey()).append(payloads);
+                result = CompletableFuture.completedFuture(null);
+            } catch (Exception e) {
+                result = CompletableFuture.failedFuture(e);
+            }
+            for (int position : entry.getValue()) {
+                results.set(position, result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Reads records of a topic starting at the given offset.
+     *
+     * @param topic the topic to read
+     * @param offset the offset of the first record to return
+     * @param maxRecords the maximum number of records to return
+     * @return the records in offset order; empty when there is nothing at {@code offset} yet
+     */
+    public List<LogRecord> read(String topic, long offset, int maxRecords) {
+        return topic(topic).read(offset, maxRecords);
+    }
+
+    /**
+     * @return the offset of the oldest record still stored for the topic
+     */
+    public long startOffset(String topic) {
+        return topic(topic).startOffset();
+    }
+
+    /**
+     * @return the offset the next record published to the topic will get
+     */
+    public long endOffset(String topic) {
+        return topic(topic).endOffset();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        for (Map.Entry<String, TopicLog> entry : topics.entrySet()) {
+            try {
+                entry.getValue().close();
+            } catch (IOException e) {
+                log.warn("Error closing the log of topic {}", entry.getKey(), e);
+            }
+        }
+    }
+
+    private TopicLog topic(String topic) {
+        return topics.computeIfAbsent(topic, name -> {
+            try {
+                return TopicLog.open(directory.resolve(directoryName(name)), segmentBytes, fsyncPolicy);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open the log of topic " + name, e);
+            }
+        });
+    }
+
+    private void flushAll() {
+        for (Map.Entry<String, TopicLog> entry : topics.entrySet()) {
+            try {
+                entry.getValue().flush();
+            } catch (Exception e) {
+                log.error("Error flushing the log of topic {}", entry.getKey(), e);
+            }
+        }
+    }
+
+    private static String directoryName(String topic) {
+        return topic.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.hexagonalorders.infrastructure.out.messaging;
+
+/**
+ * A record read back from a topic log.
+ *
+ * @param offset the position of the record in its topic, starting at zero
+ * @param payload the record body as it was published
+ */
+public record LogRecord(long offset, byte[] payload) {
+}
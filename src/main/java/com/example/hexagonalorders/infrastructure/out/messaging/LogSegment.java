@@ -0,0 +1,210 @@
+package com.example.hexagonalorders.infrastructure.out.messaging;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped file of a {@link TopicLog}.
+ * The file is preallocated to the segment size and records are appended as
+ * {@code [int payload length][int crc32c of payload][payload]}. The length is written last
+ * and a zero length marks the end of the written region, so after a crash the segment is
+ * recovered by scanning it from the start until the first empty or corrupt record.
+ * Every {@value #INDEX_INTERVAL}th record position is kept in a sparse in-memory index,
+ * so a read seeks close to the requested offset and skips at most that many records.
+ *
+ * Appends and commits are serialized by the owning log. Readers only see records up to
+ * the last {@link #commit()}, which publishes them through volatile fields.
+ */
+final class LogSegment implements Closeable {
+
+    static final int HEADER_BYTES = 8;
+    private static final int INDEX_INTERVAL = 64;
+
+    private final long baseOffset;
+    private final int capacity;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    // Estado del escritor, protegido por el TopicLog
+    private int position;
+    private int recordCount;
+
+    private volatile int[] index = new int[16];
+    private volatile int committedPosition;
+    private volatile int committedCount;
+    private int flushedPosition;
+
+    private LogSegment(Path path, long baseOffset, int segmentBytes) throws IOException {
+        this.baseOffset = baseOffset;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // Un segmento creado con un tamaño mayor se conserva entero
+        this.capacity = (int) Math.max(channel.size(), segmentBytes);
+        if (channel.size() < capacity) {
+            // Los bytes no escritos de un fichero ampliado se leen como ceros
+            channel.write(ByteBuffer.allocate(1), capacity - 1L);
+        }
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    /**
+     * Opens the segment at the given path, creating it if needed, and recovers its records.
+     */
+    static LogSegment open(Path path, long baseOffset, int segmentBytes) throws IOException {
+        LogSegment segment = new LogSegment(path, baseOffset, segmentBytes);
+        segment.recover();
+        return segment;
+    }
+
+    static String fileName(long baseOffset) {
+        return String.format("%020d.log", baseOffset);
+    }
+
+    private void recover() {
+        int pos = 0;
+        int count = 0;
+        int[] recovered = new int[16];
+        while (pos + HEADER_BYTES <= capacity) {
+            int length = buffer.getInt(pos);
+            if (length <= 0 || length > capacity - pos - HEADER_BYTES) {
+                break;
+            }
+            if (buffer.getInt(pos + 4) != checksum(buffer.slice(pos + HEADER_BYTES, length))) {
+                break;
+            }
+            recovered = indexed(recovered, count, pos);
+            pos += HEADER_BYTES + length;
+            count++;
+        }
+        clearTornRecord(pos);
+        this.position = pos;
+        this.recordCount = count;
+        this.index = recovered;
+        this.flushedPosition = pos;
+        commit();
+    }
+
+    /**
+     * Zeroes whatever a crash left half written at the end of the log, so a later, shorter
+     * record can never be followed by a stale header on the next recovery.
+     */
+    private void clearTornRecord(int pos) {
+        if (pos + HEADER_BYTES > capacity) {
+            return;
+        }
+        int length = buffer.getInt(pos);
+        int end = length > 0 && length <= capacity - pos - HEADER_BYTES ? pos + HEADER_BYTES + length : pos + HEADER_BYTES;
+        for (int i = pos; i < end; i++) {
+            buffer.put(i, (byte) 0);
+        }
+    }
+
+    /**
+     * Appends one record without making it visible to readers.
+     *
+     * @return {@code false} if the segment has no room left for the record
+     */
+    boolean append(byte[] payload) {
+        int size = HEADER_BYTES + payload.length;
+        if (size > capacity - position) {
+            return false;
+        }
+        buffer.putInt(position + 4, checksum(ByteBuffer.wrap(payload)));
+        buffer.put(position + HEADER_BYTES, payload);
+        buffer.putInt(position, payload.length);
+        int[] current = index;
+        int[] updated = indexed(current, recordCount, position);
+        if (updated != current) {
+            index = updated;
+        }
+        position += size;
+        recordCount++;
+        return true;
+    }
+
+    /**
+     * Makes every record appended so far visible to readers.
+     */
+    void commit() {
+        committedPosition = position;
+        committedCount = recordCount;
+    }
+
+    /**
+     * Forces the committed but not yet flushed part of the segment to disk.
+     */
+    synchronized void flush() {
+        int end = committedPosition;
+        if (end > flushedPosition) {
+            buffer.force(flushedPosition, end - flushedPosition);
+            flushedPosition = end;
+        }
+    }
+
+    /**
+     * Reads committed records starting at the given offset.
+     *
+     * @param offset an offset of this segment
+     * @param maxRecords the maximum number of records to add
+     * @param records the list the records are added to
+     */
+    void read(long offset, int maxRecords, List<LogRecord> records) {
+        // committedCount se lee antes que el índice para ver sus entradas
+        int count = committedCount;
+        int[] positions = index;
+        int relative = (int) (offset - baseOffset);
+        if (relative < 0 || relative >= count) {
+            return;
+        }
+        int pos = positions[relative / INDEX_INTERVAL];
+        for (int skip = relative % INDEX_INTERVAL; skip > 0; skip--) {
+            pos += HEADER_BYTES + buffer.getInt(pos);
+        }
+        for (int i = relative; i < count && records.size() < maxRecords; i++) {
+            int length = buffer.getInt(pos);
+            byte[] payload = new byte[length];
+            buffer.get(pos + HEADER_BYTES, payload);
+            records.add(new LogRecord(baseOffset + i, payload));
+            pos += HEADER_BYTES + length;
+        }
+    }
+
+    long baseOffset() {
+        return baseOffset;
+    }
+
+    long endOffset() {
+        return baseOffset + committedCount;
+    }
+
+    /**
+     * Closes the file. The mapping itself is released when the buffer is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static int[] indexed(int[] positions, int recordNumber, int pos) {
+        if (recordNumber % INDEX_INTERVAL != 0) {
+            return positions;
+        }
+        int slot = recordNumber / INDEX_INTERVAL;
+        int[] target = slot < positions.length ? positions : Arrays.copyOf(positions, positions.length * 2);
+        target[slot] = pos;
+        return target;
+    }
+
+    private static int checksum(ByteBuffer data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+}
@@ -3,20 +3,38 @@ package com.example.hexagonalorders.infrastructure.out.messaging;
 import com.example.hexagonalorders.domain.port.out.MessagePublisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
 * No-operation implementation of MessagePublisher that just logs messages.
 * This allows the application to run without a real message broker.
+* It is the default; set {@code messaging.publisher=log} to use {@link LogMessagePublisher} instead.
 */
 @Component
+@ConditionalOnProperty(name = "messaging.publisher", havingValue = "noop", matchIfMissing = true)
 public class NoOpMessagePublisher implements MessagePublisher {
   
    private static final Logger log = LoggerFactory.getLogger(NoOpMessagePublisher.class);
   
    @Override
-   public void publish(String topic, String payload) {
+   public void publish(String topic, byte[] payload) {
        // Aquí iría código para publicar a Kafka u otro bus de mensajes
-       log.info("Would publish message to topic '{}': {}", topic, payload);
+       log.info("Would publish message to topic '{}': {} bytes", topic, payload.length);
+   }
+  
+   @Override
+   public List<CompletableFuture<Void>> publishAll(List<Message> messages) {
+       log.info("Would publish a batch of {} messages", messages.size());
+       List<CompletableFuture<Void>> results = new ArrayList<>(messages.size());
+       for (Message message : messages) {
+           log.debug("Would publish message to topic '{}' with key '{}': {} bytes", message.topic(), message.key(), message.payload().length);
+           results.add(CompletableFuture.completedFuture(null));
+       }
+       return results;
    }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,141 @@
+package com.example.hexagonalorders.infrastructure.out.messaging;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The append-only log of one topic: a directory of {@link LogSegment}s, each named after
+ * the offset of its first record. Records are appended to the newest segment, and a new
+ * segment is rolled when the next record does not fit. Appends are serialized per topic,
+ * while reads run concurrently against the committed part of each segment.
+ */
+final class TopicLog implements Closeable {
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final FsyncPolicy fsyncPolicy;
+    private final ConcurrentSkipListMap<Long, LogSegment> segments = new ConcurrentSkipListMap<>();
+    private LogSegment active;
+
+    private TopicLog(Path directory, int segmentBytes, FsyncPolicy fsyncPolicy) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    /**
+     * Opens the log in the given directory, recovering the segments already on disk.
+     */
+    static TopicLog open(Path directory, int segmentBytes, FsyncPolicy fsyncPolicy) throws IOException {
+        Files.createDirectories(directory);
+        TopicLog log = new TopicLog(directory, segmentBytes, fsyncPolicy);
+        List<Long> baseOffsets = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.log")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                baseOffsets.add(Long.parseLong(name.substring(0, name.length() - ".log".length())));
+            }
+        }
+        baseOffsets.sort(null);
+        for (long baseOffset : baseOffsets) {
+            log.segments.put(baseOffset, LogSegment.open(directory.resolve(LogSegment.fileName(baseOffset)), baseOffset, segmentBytes));
+        }
+        if (log.segments.isEmpty()) {
+            log.roll(0);
+        } else {
+            log.active = log.segments.lastEntry().getValue();
+        }
+        return log;
+    }
+
+    /**
+     * Appends the payloads in order and makes them visible to readers together.
+     * With {@link FsyncPolicy#ALWAYS} the records are on disk when this method returns.
+     *
+     * @return the offset of the first appended record
+     */
+    synchronized long append(List<byte[]> payloads) throws IOException {
+        for (byte[] payload : payloads) {
+            if (payload.length == 0 || payload.length > segmentBytes - LogSegment.HEADER_BYTES) {
+                throw new IllegalArgumentException("Record of " + payload.length + " bytes does not fit a log segment of " + segmentBytes + " bytes");
+            }
+        }
+        long firstOffset = active.endOffset();
+        List<LogSegment> touched = new ArrayList<>(1);
+        touched.add(active);
+        for (byte[] payload : payloads) {
+            if (!active.append(payload)) {
+                active.commit();
+                roll(active.endOffset());
+                touched.add(active);
+                active.append(payload);
+            }
+        }
+        active.commit();
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            for (LogSegment segment : touched) {
+                segment.flush();
+            }
+        }
+        return firstOffset;
+    }
+
+    /**
+     * Reads up to {@code maxRecords} records starting at {@code offset}. Offsets below
+     * {@link #startOffset()} or at or past {@link #endOffset()} return an empty list.
+     */
+    List<LogRecord> read(long offset, int maxRecords) {
+        List<LogRecord> records = new ArrayList<>(Math.min(maxRecords, 1024));
+        Map.Entry<Long, LogSegment> entry = segments.floorEntry(offset);
+        while (entry != null && records.size() < maxRecords) {
+            LogSegment segment = entry.getValue();
+            long next = records.isEmpty() ? offset : records.get(records.size() - 1).offset() + 1;
+            segment.read(next, maxRecords, records);
+            entry = segments.higherEntry(entry.getKey());
+        }
+        return records;
+    }
+
+    long startOffset() {
+        return segments.firstKey();
+    }
+
+    long endOffset() {
+        return segments.lastEntry().getValue().endOffset();
+    }
+
+    /**
+     * Forces every committed record to disk.
+     */
+    void flush() {
+        for (LogSegment segment : segments.values()) {
+            segment.flush();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (LogSegment segment : segments.values()) {
+            if (fsyncPolicy != FsyncPolicy.NEVER) {
+                segment.flush();
+            }
+            segment.close();
+        }
+    }
+
+    private void roll(long baseOffset) throws IOException {
+        if (active != null && fsyncPolicy != FsyncPolicy.NEVER) {
+            active.flush();
+        }
+        LogSegment segment = LogSegment.open(directory.resolve(LogSegment.fileName(baseOffset)), baseOffset, segmentBytes);
+        segments.put(baseOffset, segment);
+        active = segment;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.hexagonalorders.infrastructure.out.orderNumber;
+
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import com.example.hexagonalorders.domain.port.out.OrderNumberGenerator;
+import com.example.hexagonalorders.domain.service.TimeOrderedIdGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Secondary adapter implementing the OrderNumberGenerator port with time-ordered ids.
+ * Order numbers are the 26-character string form of a {@link TimeOrderedIdGenerator} id,
+ * so numbers of newer orders sort after older ones and new rows are appended at the end
+ * of the unique index on the order number.
+ *
+ * This is the default generator; set {@code orders.number-generator=uuid} to use
+ * {@link UuidOrderNumberGenerator} instead.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.number-generator", havingValue = "time-ordered", matchIfMissing = true)
+public class TimeOrderedOrderNumberGenerator implements OrderNumberGenerator {
+
+    private final TimeOrderedIdGenerator idGenerator;
+
+    public TimeOrderedOrderNumberGenerator(TimeOrderedIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    @Override
+    public OrderNumber generate() {
+        return new OrderNumber(idGenerator.nextString());
+    }
+}
@@ -2,6 +2,7 @@ package com.example.hexagonalorders.infrastructure.out.orderNumber;
 
 import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
 import com.example.hexagonalorders.domain.port.out.OrderNumberGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.util.UUID;
@@ -16,8 +17,11 @@ import java.util.UUID;
  * This adapter follows the Adapter pattern to provide a specific implementation
  * of the order number generation strategy while keeping the domain layer
  * independent of the implementation details.
+ *
+ * Enabled with {@code orders.number-generator=uuid}.
  */
 @Component
+@ConditionalOnProperty(name = "orders.number-generator", havingValue = "uuid")
 public class UuidOrderNumberGenerator implements OrderNumberGenerator {
     @Override
     public OrderNumber generate() {
@@ -49,6 +49,11 @@ public class DeliveryEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Se incrementa en cada actualización; las escrituras con una versión antigua fallan
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     public DeliveryEntity() {}
     
     public DeliveryEntity(String deliveryId, String orderNumber, String routeId, 
@@ -171,4 +176,12 @@ public class DeliveryEntity {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-} 
\ No newline at end of file
+
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "order_intake_status",
+       indexes = @Index(name = "idx_intake_status_state_updated", columnList = "state, updated_at"))
+public class OrderIntakeStatusJpaEntity implements Persistable<String> {
+
+    @Id
+    @Column(name = "order_number")
+    private String orderNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false)
+    private IntakeStateJpa state;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    // El número lo asigna el dominio; sin esta marca save() haría un merge con SELECT previo
+    @Transient
+    private boolean isNew = true;
+
+    public enum IntakeStateJpa {
+        ACCEPTED, CREATED, FAILED
+    }
+
+    public OrderIntakeStatusJpaEntity() {}
+
+    public OrderIntakeStatusJpaEntity(String orderNumber, IntakeStateJpa state, String error, Instant updatedAt) {
+        this.orderNumber = orderNumber;
+        this.state = state;
+        this.error = error;
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public String getId() {
+        return orderNumber;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+
+    public IntakeStateJpa getState() {
+        return state;
+    }
+
+    public void setState(IntakeStateJpa state) {
+        this.state = state;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,15 +1,32 @@
 package com.example.hexagonalorders.infrastructure.out.persistence.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * The indexes back the order search: each one starts with the column a search can be
+ * restricted by and continues with the order date and id it is sorted by, so a page is
+ * read as one index range. They are descending because searches show the newest orders first.
+ */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_customer_date", columnList = "customer_id, order_date desc, id desc"),
+    @Index(name = "idx_orders_status_date", columnList = "status, order_date desc, id desc"),
+    @Index(name = "idx_orders_date", columnList = "order_date desc, id desc")
+})
 public class OrderJpaEntity {
+    /**
+     * Number of orders whose items are loaded together with one IN query when the items
+     * of one of them are first accessed, so listing orders does not issue a query per order.
+     */
+    public static final int ITEM_BATCH_SIZE = 100;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, unique = true)
@@ -25,7 +42,15 @@ public class OrderJpaEntity {
     @Column(nullable = false)
     private OrderStatus status;
     
+    /**
+     * Incremented by every update, so conditional requests and concurrent writers can tell
+     * whether the order changed since they read it.
+     */
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = ITEM_BATCH_SIZE)
     private List<OrderItemJpaEntity> items = new ArrayList<>();
 
     public Long getId() {
@@ -75,4 +100,12 @@ public class OrderJpaEntity {
     public void setItems(List<OrderItemJpaEntity> items) {
         this.items = items;
     }
-} 
\ No newline at end of file
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
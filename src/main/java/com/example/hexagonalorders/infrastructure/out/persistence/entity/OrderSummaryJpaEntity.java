@@ -0,0 +1,114 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.entity;
+
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Row of the denormalised order summary read model. The indexes lead with each filter
+ * of the summary queries and end with the order number they page by, so every summary
+ * query is a range scan over a single index.
+ */
+@Entity
+@Table(name = "order_summary",
+       indexes = {
+           @Index(name = "idx_order_summary_customer", columnList = "customer_id, order_number"),
+           @Index(name = "idx_order_summary_delivery_status", columnList = "delivery_status, order_number"),
+           @Index(name = "idx_order_summary_delivery", columnList = "latest_delivery_id")
+       })
+public class OrderSummaryJpaEntity implements Persistable<String> {
+
+    @Id
+    @Column(name = "order_number")
+    private String orderNumber;
+
+    @Column(name = "customer_id", nullable = false)
+    private String customerId;
+
+    @Column(name = "order_date", nullable = false)
+    private LocalDateTime orderDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
+
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(name = "latest_delivery_id")
+    private String latestDeliveryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "delivery_status")
+    private DeliveryStatus deliveryStatus;
+
+    // Cada resumen se inserta una sola vez, al crearse la orden: evita el SELECT previo de merge
+    @Transient
+    private boolean isNew = true;
+
+    public OrderSummaryJpaEntity() {}
+
+    public OrderSummaryJpaEntity(String orderNumber, String customerId, LocalDateTime orderDate, OrderStatus status,
+                                 int itemCount, BigDecimal totalAmount) {
+        this.orderNumber = orderNumber;
+        this.customerId = customerId;
+        this.orderDate = orderDate;
+        this.status = status;
+        this.itemCount = itemCount;
+        this.totalAmount = totalAmount;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public String getId() {
+        return orderNumber;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public String getLatestDeliveryId() {
+        return latestDeliveryId;
+    }
+
+    public DeliveryStatus getDeliveryStatus() {
+        return deliveryStatus;
+    }
+}
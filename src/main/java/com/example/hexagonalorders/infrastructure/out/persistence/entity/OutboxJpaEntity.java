@@ -1,6 +1,7 @@
 package com.example.hexagonalorders.infrastructure.out.persistence.entity;
 
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -8,9 +9,15 @@ import java.util.UUID;
 @Table(name = "outbox",
       indexes = {
           @Index(name = "idx_outbox_idempotency",
-                 columnList = "aggregate_id, event_type, created_at")
+                 columnList = "aggregate_id, event_type, created_at"),
+          @Index(name = "idx_outbox_status_created",
+                 columnList = "status, created_at"),
+          @Index(name = "idx_outbox_status_processed",
+                 columnList = "status, processed_at"),
+          @Index(name = "idx_outbox_aggregate_created",
+                 columnList = "aggregate_id, created_at")
       })
-public class OutboxJpaEntity {
+public class OutboxJpaEntity implements Persistable<UUID> {
   
    @Id
    @Column(name = "id")
@@ -25,9 +32,8 @@ public class OutboxJpaEntity {
    @Column(name = "event_type", nullable = false)
    private String eventType;
   
-   @Lob
-   @Column(name = "payload", nullable = false)
-   private String payload;
+   @Column(name = "payload", nullable = false, length = 65536)
+   private byte[] payload;
   
    @Enumerated(EnumType.STRING)
    @Column(name = "status", nullable = false)
@@ -39,10 +45,38 @@ public class OutboxJpaEntity {
    @Column(name = "processed_at")
    private Instant processedAt;
   
+   @Column(name = "attempts", nullable = false)
+   private int attempts;
+  
+   @Column(name = "next_attempt_at", nullable = false)
+   private Instant nextAttemptAt;
+  
+   @Column(name = "claimed_by")
+   private String claimedBy;
+  
+   @Column(name = "lease_expires_at")
+   private Instant leaseExpiresAt;
+  
+   // Los ids se asignan en el dominio; sin esta marca save() haría un merge con SELECT previo
+   @Transient
+   private boolean isNew = true;
+  
    public enum OutboxStatusJpa {
-       PENDING, PROCESSED, FAILED
+       PENDING, CLAIMED, PROCESSED, FAILED, DEAD_LETTER
+   }
+
+   @Override
+   public boolean isNew() {
+       return isNew;
    }
 
+   @PostLoad
+   @PostPersist
+   void markNotNew() {
+       this.isNew = false;
+   }
+
+   @Override
    public UUID getId() {
        return id;
    }
@@ -75,11 +109,11 @@ public class OutboxJpaEntity {
        this.eventType = eventType;
    }
 
-   public String getPayload() {
+   public byte[] getPayload() {
        return payload;
    }
 
-   public void setPayload(String payload) {
+   public void setPayload(byte[] payload) {
        this.payload = payload;
    }
 
@@ -106,4 +140,36 @@ public class OutboxJpaEntity {
    public void setProcessedAt(Instant processedAt) {
        this.processedAt = processedAt;
    }
-} 
\ No newline at end of file
+
+   public int getAttempts() {
+       return attempts;
+   }
+
+   public void setAttempts(int attempts) {
+       this.attempts = attempts;
+   }
+
+   public Instant getNextAttemptAt() {
+       return nextAttemptAt;
+   }
+
+   public void setNextAttemptAt(Instant nextAttemptAt) {
+       this.nextAttemptAt = nextAttemptAt;
+   }
+
+   public String getClaimedBy() {
+       return claimedBy;
+   }
+
+   public void setClaimedBy(String claimedBy) {
+       this.claimedBy = claimedBy;
+   }
+
+   public Instant getLeaseExpiresAt() {
+       return leaseExpiresAt;
+   }
+
+   public void setLeaseExpiresAt(Instant leaseExpiresAt) {
+       this.leaseExpiresAt = leaseExpiresAt;
+   }
+}
\ No newline at end of file
@@ -15,6 +15,8 @@ public class OutboxMessageMapper {
         jpaEntity.setStatus(mapToJpaStatus(outboxMessage.status()));
         jpaEntity.setCreatedAt(outboxMessage.createdAt());
         jpaEntity.setProcessedAt(outboxMessage.processedAt());
+        jpaEntity.setAttempts(outboxMessage.attempts());
+        jpaEntity.setNextAttemptAt(outboxMessage.nextAttemptAt());
         return jpaEntity;
     }
     
@@ -27,23 +29,29 @@ public class OutboxMessageMapper {
             jpaEntity.getPayload(),
             mapToDomainStatus(jpaEntity.getStatus()),
             jpaEntity.getCreatedAt(),
-            jpaEntity.getProcessedAt()
+            jpaEntity.getProcessedAt(),
+            jpaEntity.getAttempts(),
+            jpaEntity.getNextAttemptAt()
         );
     }
     
     private static OutboxJpaEntity.OutboxStatusJpa mapToJpaStatus(Status domainStatus) {
         return switch (domainStatus) {
             case PENDING -> OutboxJpaEntity.OutboxStatusJpa.PENDING;
+            case CLAIMED -> OutboxJpaEntity.OutboxStatusJpa.CLAIMED;
             case PROCESSED -> OutboxJpaEntity.OutboxStatusJpa.PROCESSED;
             case FAILED -> OutboxJpaEntity.OutboxStatusJpa.FAILED;
+            case DEAD_LETTER -> OutboxJpaEntity.OutboxStatusJpa.DEAD_LETTER;
         };
     }
     
     private static Status mapToDomainStatus(OutboxJpaEntity.OutboxStatusJpa jpaStatus) {
         return switch (jpaStatus) {
             case PENDING -> Status.PENDING;
+            case CLAIMED -> Status.CLAIMED;
             case PROCESSED -> Status.PROCESSED;
             case FAILED -> Status.FAILED;
+            case DEAD_LETTER -> Status.DEAD_LETTER;
         };
     }
 } 
\ No newline at end of file
@@ -9,12 +9,20 @@ import com.example.hexagonalorders.domain.model.valueobject.DeliveryDate;
 import com.example.hexagonalorders.infrastructure.out.persistence.entity.DeliveryEntity;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
 public class DeliveryPersistenceMapper {
     
+    /**
+     * Valores con los que se reconstruyen los campos que la tabla de entregas no guarda.
+     * Las consultas de lectura usan los mismos, para que ambos caminos devuelvan la misma entrega.
+     */
+    public static final String DEFAULT_STATE = "Estado por defecto";
+    public static final String DEFAULT_NOTES = "Notas de entrega por defecto";
+    
     public Delivery toDomain(DeliveryEntity entity) {
         if (entity == null) {
             return null;
@@ -25,7 +33,7 @@ public class DeliveryPersistenceMapper {
         DeliveryAddress deliveryAddress = new DeliveryAddress(
             entity.getStreet() != null ? entity.getStreet() : "Dirección por defecto",
             entity.getCity() != null ? entity.getCity() : "Ciudad",
-            "Estado por defecto", // Valor por defecto para state
+            DEFAULT_STATE,
             entity.getPostalCode() != null ? entity.getPostalCode() : "12345",
             entity.getCountry() != null ? entity.getCountry() : "País"
         );
@@ -33,14 +41,18 @@ public class DeliveryPersistenceMapper {
         // Crear la fecha de entrega
         DeliveryDate scheduledDate = new DeliveryDate(entity.getScheduledDate());
         
-        return new Delivery(
+        Delivery delivery = new Delivery(
             new DeliveryId(entity.getDeliveryId()),
             new OrderNumber(entity.getOrderNumber()),
             deliveryAddress,
             scheduledDate,
             entity.getStatus(),
-            "Notas de entrega por defecto" // Valor por defecto para deliveryNotes
+            DEFAULT_NOTES,
+            entity.getVersion()
         );
+        // Una entrega leída de la base de datos no se acaba de crear: descartar el evento del constructor
+        delivery.clearDomainEvents();
+        return delivery;
     }
     
     public DeliveryEntity toEntity(Delivery delivery) {
@@ -64,6 +76,15 @@ public class DeliveryPersistenceMapper {
         return entity;
     }
     
+    /**
+     * Copia sobre una entidad ya almacenada los campos que una entrega puede cambiar.
+     */
+    public void updateEntity(Delivery delivery, DeliveryEntity entity) {
+        entity.setStatus(delivery.getStatus());
+        entity.setScheduledDate(delivery.getScheduledDate().value());
+        entity.setUpdatedAt(LocalDateTime.now());
+    }
+    
     public List<Delivery> toDomainList(List<DeliveryEntity> entities) {
         if (entities == null) {
             return List.of();
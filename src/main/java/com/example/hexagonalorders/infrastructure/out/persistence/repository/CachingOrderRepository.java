@@ -0,0 +1,190 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.repository;
+
+import com.example.hexagonalorders.domain.event.OrderCreatedEvent;
+import com.example.hexagonalorders.domain.model.Order;
+import com.example.hexagonalorders.domain.model.OrderItem;
+import com.example.hexagonalorders.domain.model.OrderStatus;
+import com.example.hexagonalorders.domain.model.OrderWithId;
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import com.example.hexagonalorders.domain.port.out.OrderRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-through cache in front of {@link OrderRepositoryAdapter} for lookups by order number.
+ * Enabled unless {@code orders.cache.enabled} is false.
+ *
+ * Entries live in a Caffeine cache bounded by {@code orders.cache.max-size}, whose
+ * W-TinyLFU policy only admits a new order in place of an old one when it is looked up
+ * more often, so a scan over many cold orders does not push the hot ones out. Found orders
+ * expire after {@code orders.cache.ttl-ms}; numbers that do not exist are cached as misses
+ * for the shorter {@code orders.cache.negative-ttl-ms}. Concurrent misses on the same
+ * number share a single query.
+ *
+ * Entries are invalidated when an {@link OrderCreatedEvent} is committed and when an order
+ * is saved or deleted through this repository. Invalidation is local to this node, so with
+ * several nodes a change made elsewhere is seen after the TTL at the latest.
+ * The cache keeps an immutable snapshot of each order and hands every caller a new
+ * {@link Order} built from it, so changing an order read from here does not change what
+ * later callers see.
+ *
+ * Listing all orders goes straight to the database. Hit, miss and eviction counts
+ * are exposed as the Micrometer {@code cache.*} meters tagged {@code cache=orders}.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "orders.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingOrderRepository implements OrderRepository {
+
+    private final OrderRepositoryAdapter delegate;
+    private final Cache<String, Optional<OrderSnapshot>> cache;
+
+    public CachingOrderRepository(OrderRepositoryAdapter delegate, MeterRegistry meterRegistry,
+                                  @Value("${orders.cache.max-size:10000}") long maxSize,
+                                  @Value("${orders.cache.ttl-ms:60000}") long ttlMs,
+                                  @Value("${orders.cache.negative-ttl-ms:2000}") long negativeTtlMs) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new HitOrMissExpiry(TimeUnit.MILLISECONDS.toNanos(ttlMs), TimeUnit.MILLISECONDS.toNanos(negativeTtlMs)))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "orders");
+    }
+
+    @Override
+    public Optional<OrderWithId> findByOrderNumberWithId(OrderNumber orderNumber) {
+        return cache.get(orderNumber.value(), number -> delegate.findByOrderNumberWithId(orderNumber).map(OrderSnapshot::of))
+            .map(OrderSnapshot::toOrderWithId);
+    }
+
+    @Override
+    public Optional<Order> findByOrderNumber(OrderNumber orderNumber) {
+        return findByOrderNumberWithId(orderNumber).map(OrderWithId::getOrder);
+    }
+
+    @Override
+    public Order save(Order order) {
+        Order saved = delegate.save(order);
+        invalidateAfterCommit(order.getOrderNumber().value());
+        return saved;
+    }
+
+    @Override
+    public OrderWithId saveWithId(Order order) {
+        OrderWithId saved = delegate.saveWithId(order);
+        invalidateAfterCommit(order.getOrderNumber().value());
+        return saved;
+    }
+
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        List<Order> saved = delegate.saveAll(orders);
+        orders.forEach(order -> invalidateAfterCommit(order.getOrderNumber().value()));
+        return saved;
+    }
+
+    @Override
+    public List<OrderWithId> saveAllWithId(List<Order> orders) {
+        List<OrderWithId> saved = delegate.saveAllWithId(orders);
+        orders.forEach(order -> invalidateAfterCommit(order.getOrderNumber().value()));
+        return saved;
+    }
+
+    @Override
+    public boolean deleteByOrderNumber(OrderNumber orderNumber) {
+        boolean deleted = delegate.deleteByOrderNumber(orderNumber);
+        invalidateAfterCommit(orderNumber.value());
+        return deleted;
+    }
+
+    @Override
+    public void deleteByOrderNumber(OrderNumber orderNumber, long expectedVersion) {
+        delegate.deleteByOrderNumber(orderNumber, expectedVersion);
+        invalidateAfterCommit(orderNumber.value());
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+
+    /**
+     * Drops the cached miss of a newly created order once its transaction has committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        cache.invalidate(event.getOrderNumber().value());
+    }
+
+    private void invalidateAfterCommit(String orderNumber) {
+        cache.invalidate(orderNumber);
+        // Una lectura concurrente antes del commit podría volver a cachear el estado anterior
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(orderNumber);
+                }
+            });
+        }
+    }
+
+    /**
+     * Immutable copy of a stored order, with its own copy of the items.
+     */
+    private record OrderSnapshot(OrderNumber orderNumber, String customerId, LocalDateTime orderDate,
+                                 List<OrderItem> items, OrderStatus status, Long id, Long version) {
+
+        static OrderSnapshot of(OrderWithId stored) {
+            Order order = stored.getOrder();
+            return new OrderSnapshot(order.getOrderNumber(), order.getCustomerId(), order.getOrderDate(),
+                List.copyOf(order.getItems()), order.getStatus(), stored.getId(), stored.getVersion());
+        }
+
+        /**
+         * Rebuilds the order the way the database read does, with a mutable list of items of its own.
+         */
+        OrderWithId toOrderWithId() {
+            return new OrderWithId(new Order(orderNumber, customerId, orderDate, new ArrayList<>(items), status), id, version);
+        }
+    }
+
+    /**
+     * Keeps found orders for the full TTL and misses for the negative TTL; reads do not extend either.
+     */
+    private record HitOrMissExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<String, Optional<OrderSnapshot>> {
+
+        @Override
+        public long expireAfterCreate(String key, Optional<OrderSnapshot> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<OrderSnapshot> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<OrderSnapshot> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.hexagonalorders.infrastructure.out.persistence.repository;
 import com.example.hexagonalorders.infrastructure.out.persistence.entity.DeliveryEntity;
 import com.example.hexagonalorders.domain.model.DeliveryStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface DeliveryJpaRepository extends JpaRepository<DeliveryEntity, Long> {
@@ -30,6 +32,14 @@ public interface DeliveryJpaRepository extends JpaRepository<DeliveryEntity, Lon
     List<DeliveryEntity> findOverdueDeliveries(@Param("now") LocalDateTime now);
     
     boolean existsByDeliveryId(String deliveryId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DeliveryEntity d SET d.status = :target, d.scheduledDate = COALESCE(:scheduledDate, d.scheduledDate), "
+         + "d.updatedAt = :now, d.version = d.version + 1 "
+         + "WHERE d.deliveryId = :deliveryId AND d.status IN :sources AND (:version IS NULL OR d.version = :version)")
+    int transition(@Param("deliveryId") String deliveryId, @Param("sources") Set<DeliveryStatus> sources,
+                   @Param("target") DeliveryStatus target, @Param("scheduledDate") LocalDateTime scheduledDate,
+                   @Param("version") Long version, @Param("now") LocalDateTime now);
     
     long countByStatus(DeliveryStatus status);
 } 
\ No newline at end of file
@@ -2,14 +2,19 @@ package com.example.hexagonalorders.infrastructure.out.persistence.repository;
 
 import com.example.hexagonalorders.domain.model.Delivery;
 import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.model.valueobject.DeliveryDate;
 import com.example.hexagonalorders.domain.model.valueobject.DeliveryId;
 import com.example.hexagonalorders.domain.port.out.DeliveryRepository;
 import com.example.hexagonalorders.infrastructure.out.persistence.mapper.DeliveryPersistenceMapper;
 import org.springframework.context.annotation.Primary;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 @Primary
@@ -23,11 +28,33 @@ public class DeliveryRepositoryAdapter implements DeliveryRepository {
         this.mapper = mapper;
     }
     
+    /**
+     * Inserta una entrega nueva o actualiza la almacenada. Una entrega con versión solo se
+     * actualiza si la fila conserva esa versión; la actualización también se condiciona a
+     * ella, de modo que una escritura concurrente posterior a la lectura la hace fallar.
+     */
     @Override
+    @Transactional
     public Delivery save(Delivery delivery) {
-        var entity = mapper.toEntity(delivery);
-        var savedEntity = jpaRepository.save(entity);
-        return mapper.toDomain(savedEntity);
+        if (delivery.getVersion() == null) {
+            return mapper.toDomain(jpaRepository.saveAndFlush(mapper.toEntity(delivery)));
+        }
+        var entity = jpaRepository.findByDeliveryId(delivery.getDeliveryId().value())
+            .filter(found -> delivery.getVersion().equals(found.getVersion()))
+            .orElseThrow(() -> new OptimisticLockingFailureException(
+                "La entrega " + delivery.getDeliveryId().value() + " no tiene la versión " + delivery.getVersion()));
+        mapper.updateEntity(delivery, entity);
+        // El flush incrementa la versión, que se devuelve con la entrega
+        return mapper.toDomain(jpaRepository.saveAndFlush(entity));
+    }
+    
+    @Override
+    @Transactional
+    public boolean transition(DeliveryId deliveryId, Set<DeliveryStatus> allowedSources, DeliveryStatus target,
+                              DeliveryDate scheduledDate, Long expectedVersion) {
+        // Una sola sentencia: el número de filas afectadas indica si se cumplían las condiciones
+        return jpaRepository.transition(deliveryId.value(), allowedSources, target,
+            scheduledDate == null ? null : scheduledDate.value(), expectedVersion, LocalDateTime.now()) == 1;
     }
     
     @Override
@@ -0,0 +1,18 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.repository;
+
+import com.example.hexagonalorders.infrastructure.out.persistence.entity.IdempotencyKeyJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyKeyJpaRepository extends JpaRepository<IdempotencyKeyJpaEntity, String> {
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKeyJpaEntity k WHERE k.createdAt < :cutoff")
+    int deleteByCreatedAtBefore(@Param("cutoff") Instant cutoff);
+}
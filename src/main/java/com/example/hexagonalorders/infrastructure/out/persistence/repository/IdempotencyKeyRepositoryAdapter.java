@@ -0,0 +1,40 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.repository;
+
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import com.example.hexagonalorders.domain.port.out.IdempotencyKeyRepository;
+import com.example.hexagonalorders.infrastructure.out.persistence.entity.IdempotencyKeyJpaEntity;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public class IdempotencyKeyRepositoryAdapter implements IdempotencyKeyRepository {
+
+    private final IdempotencyKeyJpaRepository idempotencyKeyJpaRepository;
+
+    public IdempotencyKeyRepositoryAdapter(IdempotencyKeyJpaRepository idempotencyKeyJpaRepository) {
+        this.idempotencyKeyJpaRepository = idempotencyKeyJpaRepository;
+    }
+
+    @Override
+    public Optional<RecordedKey> find(String key) {
+        return idempotencyKeyJpaRepository.findById(key)
+            .map(entity -> new RecordedKey(new OrderNumber(entity.getOrderNumber()), entity.getRequestHash()));
+    }
+
+    @Override
+    @Transactional
+    public void save(String key, String requestHash, OrderNumber orderNumber) {
+        idempotencyKeyJpaRepository.save(new IdempotencyKeyJpaEntity(key, requestHash, orderNumber.value(), Instant.now()));
+        // Se vuelca ya para que una clave duplicada falle aquí y no al confirmar
+        idempotencyKeyJpaRepository.flush();
+    }
+
+    @Override
+    @Transactional
+    public int deleteCreatedBefore(Instant cutoff) {
+        return idempotencyKeyJpaRepository.deleteByCreatedAtBefore(cutoff);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.repository;
+
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.port.out.DeliveryQueryRepository;
+import com.example.hexagonalorders.infrastructure.out.persistence.mapper.DeliveryPersistenceMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Implementación de DeliveryQueryRepository con SQL directo sobre la tabla de entregas.
+ * Cada fila se proyecta a un {@link DeliveryView} sin pasar por el contexto de persistencia.
+ */
+@Component
+public class JdbcDeliveryQueryRepository implements DeliveryQueryRepository {
+
+    /**
+     * Filas leídas de la base de datos por viaje durante un recorrido.
+     */
+    static final int STREAM_FETCH_SIZE = 500;
+
+    private static final String SELECT = "SELECT delivery_id, order_number, street, city, postal_code, country, "
+                                       + "status, scheduled_date, version FROM deliveries ";
+
+    private static final RowMapper<DeliveryView> ROW_MAPPER = (rs, rowNum) -> new DeliveryView(
+        rs.getString("delivery_id"),
+        rs.getString("order_number"),
+        rs.getString("street"),
+        rs.getString("city"),
+        DeliveryPersistenceMapper.DEFAULT_STATE,
+        rs.getString("postal_code"),
+        rs.getString("country"),
+        DeliveryStatus.valueOf(rs.getString("status")),
+        rs.getObject("scheduled_date", LocalDateTime.class),
+        DeliveryPersistenceMapper.DEFAULT_NOTES,
+        rs.getObject("version", Long.class)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcDeliveryQueryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<DeliveryView> findById(String deliveryId) {
+        return jdbcTemplate.query(SELECT + "WHERE delivery_id = ?", ROW_MAPPER, deliveryId).stream().findFirst();
+    }
+
+    @Override
+    public Optional<Long> findVersion(String deliveryId) {
+        return jdbcTemplate.queryForList("SELECT version FROM deliveries WHERE delivery_id = ?", Long.class, deliveryId)
+            .stream().filter(Objects::nonNull).findFirst();
+    }
+
+    @Override
+    public List<DeliveryView> findAll() {
+        return jdbcTemplate.query(SELECT + "ORDER BY id", ROW_MAPPER);
+    }
+
+    @Override
+    public List<DeliveryView> findByStatus(DeliveryStatus status) {
+        return jdbcTemplate.query(SELECT + "WHERE status = ? ORDER BY id", ROW_MAPPER, status.name());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(DeliveryStatus status, Consumer<DeliveryView> consumer) {
+        String sql = SELECT + (status == null ? "" : "WHERE status = ? ") + "ORDER BY id";
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            if (status != null) {
+                statement.setString(1, status.name());
+            }
+            return statement;
+        }, rs -> {
+            consumer.accept(ROW_MAPPER.mapRow(rs, rs.getRow()));
+        });
+    }
+}
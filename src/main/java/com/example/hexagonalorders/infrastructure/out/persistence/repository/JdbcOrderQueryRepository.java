@@ -0,0 +1,221 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.repository;
+
+import com.example.hexagonalorders.domain.model.OrderStatus;
+import com.example.hexagonalorders.domain.port.out.OrderQueryRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * OrderQueryRepository reading the order tables with plain SQL.
+ * Each order is read together with its items through one left join ordered by order id,
+ * and consecutive rows of the same order are folded into one {@link OrderView}, so a page
+ * or a whole stream costs a single statement. Nothing goes through the persistence context.
+ */
+@Component
+public class JdbcOrderQueryRepository implements OrderQueryRepository {
+
+    /**
+     * Rows fetched from the database per round trip while streaming.
+     */
+    static final int STREAM_FETCH_SIZE = 500;
+
+    private static final String COLUMNS = "o.id, o.order_number, o.customer_id, o.order_date, o.status, "
+                                        + "i.id AS item_id, i.product_number, i.quantity, i.unit_price ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcOrderQueryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean existsByOrderNumber(String orderNumber) {
+        Boolean exists = jdbcTemplate.query("SELECT 1 FROM orders WHERE order_number = ?",
+                                            (ResultSetExtractor<Boolean>) ResultSet::next, orderNumber);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    @Override
+    public Optional<Long> findVersion(String orderNumber) {
+        return jdbcTemplate.queryForList("SELECT version FROM orders WHERE order_number = ?", Long.class, orderNumber)
+            .stream().filter(Objects::nonNull).findFirst();
+    }
+
+    @Override
+    public List<OrderView> findPage(OrderFilter filter, Long afterId, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder page = new StringBuilder("SELECT * FROM orders o WHERE o.id > ?");
+        args.add(afterId == null ? 0L : afterId);
+        appendFilter(page, filter, args);
+        page.append(" ORDER BY o.id LIMIT ?");
+        args.add(limit);
+
+        // La página se limita antes del join para que los ítems no cuenten en el límite
+        String sql = "SELECT " + COLUMNS + "FROM (" + page + ") o "
+                   + "LEFT JOIN order_items i ON i.order_id = o.id ORDER BY o.id, i.id";
+        List<OrderView> orders = new ArrayList<>(limit);
+        OrderFolder folder = new OrderFolder(orders::add);
+        jdbcTemplate.query(sql, folder::accept, args.toArray());
+        folder.finish();
+        return orders;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(OrderFilter filter, Consumer<OrderView> consumer) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + "FROM orders o "
+                                            + "LEFT JOIN order_items i ON i.order_id = o.id WHERE 1 = 1");
+        appendFilter(sql, filter, args);
+        sql.append(" ORDER BY o.id, i.id");
+
+        OrderFolder folder = new OrderFolder(consumer);
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, folder::accept);
+        folder.finish();
+    }
+
+    @Override
+    public List<OrderView> search(OrderSearch search, SearchCursor after, int limit) {
+        SearchQuery query = searchQuery(search, after, limit);
+        List<OrderView> orders = new ArrayList<>(limit);
+        OrderFolder folder = new OrderFolder(orders::add);
+        jdbcTemplate.query(query.sql(), folder::accept, query.args());
+        folder.finish();
+        return orders;
+    }
+
+    /**
+     * Builds the statement of a search page, with only the predicates of the criteria that
+     * are set. The page is limited before the join so the items do not count in the limit.
+     */
+    static SearchQuery searchQuery(OrderSearch search, SearchCursor after, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder page = new StringBuilder("SELECT * FROM orders o WHERE 1 = 1");
+        if (search.customerId() != null) {
+            page.append(" AND o.customer_id = ?");
+            args.add(search.customerId());
+        }
+        if (!search.statuses().isEmpty()) {
+            page.append(" AND o.status IN (")
+                .append(String.join(", ", Collections.nCopies(search.statuses().size(), "?")))
+                .append(')');
+            search.statuses().stream().map(Enum::name).sorted().forEach(args::add);
+        }
+        if (search.from() != null) {
+            page.append(" AND o.order_date >= ?");
+            args.add(search.from());
+        }
+        if (search.to() != null) {
+            page.append(" AND o.order_date < ?");
+            args.add(search.to());
+        }
+        String direction = search.newestFirst() ? "DESC" : "ASC";
+        if (after != null) {
+            // La primera condición acota el rango del índice; la segunda descarta lo ya devuelto en la misma fecha
+            String beyond = search.newestFirst() ? "<" : ">";
+            page.append(" AND o.order_date ").append(beyond).append("= ?")
+                .append(" AND (o.order_date ").append(beyond).append(" ? OR o.id ").append(beyond).append(" ?)");
+            args.add(after.orderDate());
+            args.add(after.orderDate());
+            args.add(after.id());
+        }
+        String sort = "o.order_date " + direction + ", o.id " + direction;
+        page.append(" ORDER BY ").append(sort).append(" LIMIT ?");
+        args.add(limit);
+
+        String sql = "SELECT " + COLUMNS + "FROM (" + page + ") o "
+                   + "LEFT JOIN order_items i ON i.order_id = o.id ORDER BY " + sort + ", i.id";
+        return new SearchQuery(sql, args.toArray());
+    }
+
+    /**
+     * @param sql the statement
+     * @param args its parameters, in order
+     */
+    record SearchQuery(String sql, Object[] args) {
+    }
+
+    /**
+     * Adds a predicate only for the criteria that are set, so the database can use the
+     * index of each one instead of evaluating "? IS NULL OR ..." on every row.
+     */
+    private static void appendFilter(StringBuilder sql, OrderFilter filter, List<Object> args) {
+        if (filter.customerId() != null) {
+            sql.append(" AND o.customer_id = ?");
+            args.add(filter.customerId());
+        }
+        if (filter.status() != null) {
+            sql.append(" AND o.status = ?");
+            args.add(filter.status().name());
+        }
+        if (filter.from() != null) {
+            sql.append(" AND o.order_date >= ?");
+            args.add(filter.from());
+        }
+        if (filter.to() != null) {
+            sql.append(" AND o.order_date < ?");
+            args.add(filter.to());
+        }
+    }
+
+    /**
+     * Folds the joined rows of each order into one view and hands it on once the next order starts.
+     */
+    private static final class OrderFolder {
+        private final Consumer<OrderView> consumer;
+        private long currentId = -1;
+        private String orderNumber;
+        private String customerId;
+        private LocalDateTime orderDate;
+        private OrderStatus status;
+        private List<OrderItemView> items;
+
+        OrderFolder(Consumer<OrderView> consumer) {
+            this.consumer = consumer;
+        }
+
+        void accept(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            if (id != currentId) {
+                finish();
+                currentId = id;
+                orderNumber = rs.getString("order_number");
+                customerId = rs.getString("customer_id");
+                orderDate = rs.getObject("order_date", LocalDateTime.class);
+                status = OrderStatus.valueOf(rs.getString("status"));
+                items = new ArrayList<>();
+            }
+            long itemId = rs.getLong("item_id");
+            if (!rs.wasNull()) {
+                items.add(new OrderItemView(itemId, rs.getString("product_number"),
+                                            rs.getInt("quantity"), rs.getBigDecimal("unit_price")));
+            }
+        }
+
+        void finish() {
+            if (items != null) {
+                consumer.accept(new OrderView(currentId, orderNumber, customerId, orderDate, status, List.copyOf(items)));
+                items = null;
+            }
+        }
+    }
+}
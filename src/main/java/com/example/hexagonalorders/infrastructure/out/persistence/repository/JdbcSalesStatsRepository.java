@@ -0,0 +1,86 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.repository;
+
+import com.example.hexagonalorders.domain.port.out.SalesStatsRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * SalesStatsRepository computing the totals with GROUP BY queries over orders and their items.
+ * Orders without items count as orders with no units and no revenue.
+ */
+@Component
+public class JdbcSalesStatsRepository implements SalesStatsRepository {
+
+    /**
+     * Rows fetched from the database per round trip while reading daily totals.
+     */
+    static final int STREAM_FETCH_SIZE = 1000;
+
+    private static final String MEASURES = "COUNT(DISTINCT o.id) AS orders, COALESCE(SUM(i.quantity), 0) AS units, "
+                                         + "COALESCE(SUM(i.quantity * i.unit_price), 0) AS revenue ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcSalesStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<SalesTotal> totals(Dimension dimension, LocalDateTime from, LocalDateTime to, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(key(dimension)).append(" AS k, ").append(MEASURES)
+            .append(from(dimension)).append(" WHERE 1 = 1");
+        if (from != null) {
+            sql.append(" AND o.order_date >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND o.order_date < ?");
+            args.add(to);
+        }
+        sql.append(" GROUP BY k ORDER BY ").append(dimension == Dimension.DAY ? "k" : "revenue DESC, k").append(" LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new SalesTotal(
+            rs.getString("k"), rs.getLong("orders"), rs.getLong("units"), rs.getBigDecimal("revenue")), args.toArray());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachDailyTotal(Dimension dimension, Consumer<DailyTotal> consumer) {
+        String sql = dimension == Dimension.DAY
+            ? "SELECT CAST(o.order_date AS DATE) AS d, NULL AS k, " + MEASURES + from(dimension) + " GROUP BY d"
+            : "SELECT CAST(o.order_date AS DATE) AS d, " + key(dimension) + " AS k, " + MEASURES + from(dimension) + " GROUP BY d, k";
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            consumer.accept(new DailyTotal(rs.getObject("d", LocalDate.class), rs.getString("k"),
+                rs.getLong("orders"), rs.getLong("units"), rs.getBigDecimal("revenue")));
+        });
+    }
+
+    private static String key(Dimension dimension) {
+        return switch (dimension) {
+            case DAY -> "CAST(o.order_date AS DATE)";
+            case PRODUCT -> "i.product_number";
+            case CUSTOMER -> "o.customer_id";
+        };
+    }
+
+    private static String from(Dimension dimension) {
+        // Por producto solo cuentan las órdenes que lo incluyen
+        return dimension == Dimension.PRODUCT
+            ? "FROM orders o JOIN order_items i ON i.order_id = o.id"
+            : "FROM orders o LEFT JOIN order_items i ON i.order_id = o.id";
+    }
+}
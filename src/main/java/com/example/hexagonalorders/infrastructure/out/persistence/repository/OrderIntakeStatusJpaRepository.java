@@ -0,0 +1,29 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.repository;
+
+import com.example.hexagonalorders.infrastructure.out.persistence.entity.OrderIntakeStatusJpaEntity;
+import com.example.hexagonalorders.infrastructure.out.persistence.entity.OrderIntakeStatusJpaEntity.IntakeStateJpa;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+
+@Repository
+public interface OrderIntakeStatusJpaRepository extends JpaRepository<OrderIntakeStatusJpaEntity, String> {
+
+    @Modifying
+    @Query("UPDATE OrderIntakeStatusJpaEntity s SET s.state = :state, s.error = :error, s.updatedAt = :updatedAt " +
+           "WHERE s.orderNumber IN :orderNumbers")
+    int updateState(@Param("orderNumbers") Collection<String> orderNumbers,
+                    @Param("state") IntakeStateJpa state,
+                    @Param("error") String error,
+                    @Param("updatedAt") Instant updatedAt);
+
+    @Modifying
+    @Query("DELETE FROM OrderIntakeStatusJpaEntity s WHERE s.state IN :states AND s.updatedAt < :cutoff")
+    int deleteByStateInAndUpdatedAtBefore(@Param("states") Collection<IntakeStateJpa> states,
+                                          @Param("cutoff") Instant cutoff);
+}
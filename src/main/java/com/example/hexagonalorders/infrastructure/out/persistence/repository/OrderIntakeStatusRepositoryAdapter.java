@@ -0,0 +1,62 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.repository;
+
+import com.example.hexagonalorders.domain.port.out.OrderIntakeStatusRepository;
+import com.example.hexagonalorders.infrastructure.out.persistence.entity.OrderIntakeStatusJpaEntity;
+import com.example.hexagonalorders.infrastructure.out.persistence.entity.OrderIntakeStatusJpaEntity.IntakeStateJpa;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class OrderIntakeStatusRepositoryAdapter implements OrderIntakeStatusRepository {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OrderIntakeStatusJpaRepository jpaRepository;
+
+    public OrderIntakeStatusRepositoryAdapter(OrderIntakeStatusJpaRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+
+    @Override
+    @Transactional
+    public void saveAccepted(String orderNumber) {
+        jpaRepository.save(new OrderIntakeStatusJpaEntity(orderNumber, IntakeStateJpa.ACCEPTED, null, Instant.now()));
+    }
+
+    @Override
+    @Transactional
+    public void markCreated(Collection<String> orderNumbers) {
+        jpaRepository.updateState(orderNumbers, IntakeStateJpa.CREATED, null, Instant.now());
+    }
+
+    @Override
+    @Transactional
+    public void markFailed(String orderNumber, String error) {
+        // El mensaje de una excepción no tiene límite de longitud; la columna sí
+        String truncated = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        jpaRepository.updateState(List.of(orderNumber), IntakeStateJpa.FAILED, truncated, Instant.now());
+    }
+
+    @Override
+    @Transactional
+    public void delete(String orderNumber) {
+        jpaRepository.deleteById(orderNumber);
+    }
+
+    @Override
+    public Optional<IntakeStatus> find(String orderNumber) {
+        return jpaRepository.findById(orderNumber)
+            .map(entity -> new IntakeStatus(IntakeState.valueOf(entity.getState().name()), entity.getError(), entity.getUpdatedAt()));
+    }
+
+    @Override
+    @Transactional
+    public int deleteFinishedBefore(Instant cutoff) {
+        return jpaRepository.deleteByStateInAndUpdatedAtBefore(List.of(IntakeStateJpa.CREATED, IntakeStateJpa.FAILED), cutoff);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.hexagonalorders.infrastructure.out.persistence.repository;
 
 import com.example.hexagonalorders.infrastructure.out.persistence.entity.OrderJpaEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,6 +9,7 @@ import java.util.Optional;
 
 @Repository
 public interface OrderJpaRepository extends JpaRepository<OrderJpaEntity, Long> {
+    @EntityGraph(attributePaths = "items")
     Optional<OrderJpaEntity> findByOrderNumber(String orderNumber);
-    void deleteByOrderNumber(String orderNumber);
+    long deleteByOrderNumber(String orderNumber);
 } 
\ No newline at end of file
@@ -2,14 +2,21 @@ package com.example.hexagonalorders.infrastructure.out.persistence.repository;
 
 import com.example.hexagonalorders.domain.model.Order;
 import com.example.hexagonalorders.domain.model.OrderItem;
+import com.example.hexagonalorders.domain.model.OrderWithId;
 import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
 import com.example.hexagonalorders.domain.model.valueobject.ProductNumber;
 import com.example.hexagonalorders.domain.model.valueobject.Quantity;
 import com.example.hexagonalorders.domain.port.out.OrderRepository;
 import com.example.hexagonalorders.infrastructure.out.persistence.entity.OrderJpaEntity;
 import com.example.hexagonalorders.infrastructure.out.persistence.mapper.OrderJpaMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -18,10 +25,16 @@ import java.util.stream.Collectors;
 public class OrderRepositoryAdapter implements OrderRepository {
     private final OrderJpaRepository orderJpaRepository;
     private final OrderJpaMapper orderJpaMapper;
+    private final int flushSize;
 
-    public OrderRepositoryAdapter(OrderJpaRepository orderJpaRepository, OrderJpaMapper orderJpaMapper) {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public OrderRepositoryAdapter(OrderJpaRepository orderJpaRepository, OrderJpaMapper orderJpaMapper,
+                                  @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int flushSize) {
         this.orderJpaRepository = orderJpaRepository;
         this.orderJpaMapper = orderJpaMapper;
+        this.flushSize = flushSize;
     }
 
     @Override
@@ -29,56 +42,98 @@ public class OrderRepositoryAdapter implements OrderRepository {
         OrderJpaEntity savedEntity = orderJpaRepository.save(orderJpaMapper.toJpaEntity(order));
         return orderJpaMapper.toDomain(savedEntity);
     }
-    
+
+    @Override
     public OrderWithId saveWithId(Order order) {
         OrderJpaEntity savedEntity = orderJpaRepository.save(orderJpaMapper.toJpaEntity(order));
-        return new OrderWithId(orderJpaMapper.toDomain(savedEntity), savedEntity.getId());
+        return new OrderWithId(orderJpaMapper.toDomain(savedEntity), savedEntity.getId(), savedEntity.getVersion());
     }
 
     @Override
+    @Transactional
+    public List<Order> saveAll(List<Order> orders) {
+        return saveAllWithId(orders).stream()
+                .map(OrderWithId::getOrder)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Saves the orders in chunks of the JDBC batch size. Each chunk is flushed as a batch of
+     * order inserts followed by a batch of item inserts, and the persistence context is
+     * cleared afterwards so it does not grow with the size of the import.
+     */
+    @Override
+    @Transactional
+    public List<OrderWithId> saveAllWithId(List<Order> orders) {
+        List<OrderWithId> saved = new ArrayList<>(orders.size());
+        List<OrderJpaEntity> chunk = new ArrayList<>(flushSize);
+        for (Order order : orders) {
+            chunk.add(orderJpaMapper.toJpaEntity(order));
+            if (chunk.size() == flushSize) {
+                saveChunk(chunk, saved);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk, saved);
+        }
+        return saved;
+    }
+
+    private void saveChunk(List<OrderJpaEntity> chunk, List<OrderWithId> saved) {
+        for (OrderJpaEntity savedEntity : orderJpaRepository.saveAll(chunk)) {
+            saved.add(new OrderWithId(orderJpaMapper.toDomain(savedEntity), savedEntity.getId(), savedEntity.getVersion()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        chunk.clear();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Order> findByOrderNumber(OrderNumber orderNumber) {
         return orderJpaRepository.findByOrderNumber(orderNumber.value())
                 .map(orderJpaMapper::toDomain);
     }
-    
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<OrderWithId> findByOrderNumberWithId(OrderNumber orderNumber) {
         return orderJpaRepository.findByOrderNumber(orderNumber.value())
-                .map(entity -> new OrderWithId(orderJpaMapper.toDomain(entity), entity.getId()));
+                .map(entity -> new OrderWithId(orderJpaMapper.toDomain(entity), entity.getId(), entity.getVersion()));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Order> findAll() {
         return orderJpaRepository.findAll().stream()
                 .map(orderJpaMapper::toDomain)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<OrderWithId> findAllWithId() {
         return orderJpaRepository.findAll().stream()
-                .map(entity -> new OrderWithId(orderJpaMapper.toDomain(entity), entity.getId()))
+                .map(entity -> new OrderWithId(orderJpaMapper.toDomain(entity), entity.getId(), entity.getVersion()))
                 .collect(Collectors.toList());
     }
 
     @Override
-    public void deleteByOrderNumber(OrderNumber orderNumber) {
-        orderJpaRepository.deleteByOrderNumber(orderNumber.value());
+    public boolean deleteByOrderNumber(OrderNumber orderNumber) {
+        return orderJpaRepository.deleteByOrderNumber(orderNumber.value()) > 0;
     }
-    
-    public static class OrderWithId {
-        private final Order order;
-        private final Long id;
-        
-        public OrderWithId(Order order, Long id) {
-            this.order = order;
-            this.id = id;
-        }
-        
-        public Order getOrder() {
-            return order;
-        }
-        
-        public Long getId() {
-            return id;
-        }
+
+    /**
+     * Compares the version with the one of the loaded order; the delete itself is also
+     * conditioned on the version, so a concurrent update after the load makes it fail.
+     */
+    @Override
+    @Transactional
+    public void deleteByOrderNumber(OrderNumber orderNumber, long expectedVersion) {
+        OrderJpaEntity entity = orderJpaRepository.findByOrderNumber(orderNumber.value())
+                .filter(found -> found.getVersion() != null && found.getVersion() == expectedVersion)
+                .orElseThrow(() -> new OptimisticLockingFailureException(
+                        "Order " + orderNumber.value() + " does not have version " + expectedVersion));
+        orderJpaRepository.delete(entity);
+        entityManager.flush();
     }
 } 
\ No newline at end of file
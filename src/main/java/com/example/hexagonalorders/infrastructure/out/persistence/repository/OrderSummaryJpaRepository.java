@@ -0,0 +1,34 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.repository;
+
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.infrastructure.out.persistence.entity.OrderSummaryJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+@Repository
+public interface OrderSummaryJpaRepository extends JpaRepository<OrderSummaryJpaEntity, String> {
+
+    @Modifying
+    @Query("UPDATE OrderSummaryJpaEntity s SET s.itemCount = s.itemCount + 1, s.totalAmount = s.totalAmount + :amount "
+         + "WHERE s.orderNumber = :orderNumber")
+    int addItem(@Param("orderNumber") String orderNumber, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE OrderSummaryJpaEntity s SET s.latestDeliveryId = :deliveryId, s.deliveryStatus = :status "
+         + "WHERE s.orderNumber = :orderNumber")
+    int setLatestDelivery(@Param("orderNumber") String orderNumber, @Param("deliveryId") String deliveryId,
+                          @Param("status") DeliveryStatus status);
+
+    @Modifying
+    @Query("UPDATE OrderSummaryJpaEntity s SET s.deliveryStatus = :status WHERE s.latestDeliveryId = :deliveryId")
+    int updateDeliveryStatus(@Param("deliveryId") String deliveryId, @Param("status") DeliveryStatus status);
+
+    @Modifying
+    @Query("DELETE FROM OrderSummaryJpaEntity s WHERE s.orderNumber = :orderNumber")
+    int deleteByOrderNumber(@Param("orderNumber") String orderNumber);
+}
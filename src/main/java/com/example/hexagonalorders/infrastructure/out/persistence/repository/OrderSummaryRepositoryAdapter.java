@@ -0,0 +1,129 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.repository;
+
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.model.OrderStatus;
+import com.example.hexagonalorders.domain.port.out.OrderSummaryRepository;
+import com.example.hexagonalorders.infrastructure.out.persistence.entity.OrderSummaryJpaEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * OrderSummaryRepository over the {@code order_summary} table.
+ * New summaries are persisted through JPA so that the summaries of a bulk import are
+ * inserted in JDBC batches; every other change is a single-row UPDATE. Queries read
+ * the table with plain SQL, through the index that matches their filter.
+ */
+@Repository
+public class OrderSummaryRepositoryAdapter implements OrderSummaryRepository {
+
+    private static final String SELECT = "SELECT order_number, customer_id, order_date, status, item_count, "
+                                       + "total_amount, latest_delivery_id, delivery_status FROM order_summary ";
+
+    private static final RowMapper<OrderSummary> ROW_MAPPER = (rs, rowNum) -> {
+        String deliveryStatus = rs.getString("delivery_status");
+        return new OrderSummary(
+            rs.getString("order_number"),
+            rs.getString("customer_id"),
+            rs.getObject("order_date", LocalDateTime.class),
+            OrderStatus.valueOf(rs.getString("status")),
+            rs.getInt("item_count"),
+            rs.getBigDecimal("total_amount"),
+            rs.getString("latest_delivery_id"),
+            deliveryStatus == null ? null : DeliveryStatus.valueOf(deliveryStatus)
+        );
+    };
+
+    private final OrderSummaryJpaRepository orderSummaryJpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderSummaryRepositoryAdapter(OrderSummaryJpaRepository orderSummaryJpaRepository, JdbcTemplate jdbcTemplate) {
+        this.orderSummaryJpaRepository = orderSummaryJpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void insert(OrderSummary summary) {
+        orderSummaryJpaRepository.save(new OrderSummaryJpaEntity(
+            summary.orderNumber(),
+            summary.customerId(),
+            summary.orderDate(),
+            com.example.hexagonalorders.infrastructure.out.persistence.entity.OrderStatus.valueOf(summary.status().name()),
+            summary.itemCount(),
+            summary.totalAmount()
+        ));
+    }
+
+    @Override
+    @Transactional
+    public void addItem(String orderNumber, BigDecimal amount) {
+        orderSummaryJpaRepository.addItem(orderNumber, amount);
+    }
+
+    @Override
+    @Transactional
+    public void setLatestDelivery(String orderNumber, String deliveryId, DeliveryStatus status) {
+        orderSummaryJpaRepository.setLatestDelivery(orderNumber, deliveryId, status);
+    }
+
+    @Override
+    @Transactional
+    public void updateDeliveryStatus(String deliveryId, DeliveryStatus status) {
+        orderSummaryJpaRepository.updateDeliveryStatus(deliveryId, status);
+    }
+
+    @Override
+    @Transactional
+    public void delete(String orderNumber) {
+        orderSummaryJpaRepository.deleteByOrderNumber(orderNumber);
+    }
+
+    @Override
+    public Optional<OrderSummary> findByOrderNumber(String orderNumber) {
+        return jdbcTemplate.query(SELECT + "WHERE order_number = ?", ROW_MAPPER, orderNumber).stream().findFirst();
+    }
+
+    @Override
+    public List<OrderSummary> findPage(String customerId, DeliveryStatus deliveryStatus, String afterOrderNumber, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT).append("WHERE order_number > ?");
+        List<Object> args = new ArrayList<>();
+        args.add(afterOrderNumber == null ? "" : afterOrderNumber);
+        if (customerId != null) {
+            sql.append(" AND customer_id = ?");
+            args.add(customerId);
+        }
+        if (deliveryStatus != null) {
+            sql.append(" AND delivery_status = ?");
+            args.add(deliveryStatus.name());
+        }
+        sql.append(" ORDER BY order_number LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    @Override
+    @Transactional
+    public int rebuild() {
+        jdbcTemplate.update("DELETE FROM order_summary");
+        // Ítems y última entrega se agregan una vez por tabla en lugar de una subconsulta por orden
+        return jdbcTemplate.update(
+            "INSERT INTO order_summary (order_number, customer_id, order_date, status, item_count, total_amount, "
+          + "latest_delivery_id, delivery_status) "
+          + "SELECT o.order_number, o.customer_id, o.order_date, o.status, COALESCE(i.item_count, 0), "
+          + "COALESCE(i.total_amount, 0), d.delivery_id, d.status "
+          + "FROM orders o "
+          + "LEFT JOIN (SELECT order_id, COUNT(*) AS item_count, SUM(quantity * unit_price) AS total_amount "
+          + "           FROM order_items GROUP BY order_id) i ON i.order_id = o.id "
+          + "LEFT JOIN (SELECT order_number, MAX(id) AS id FROM deliveries GROUP BY order_number) ld "
+          + "       ON ld.order_number = o.order_number "
+          + "LEFT JOIN deliveries d ON d.id = ld.id");
+    }
+}
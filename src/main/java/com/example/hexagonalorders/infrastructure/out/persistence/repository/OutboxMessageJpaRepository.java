@@ -3,11 +3,95 @@ package com.example.hexagonalorders.infrastructure.out.persistence.repository;
 import com.example.hexagonalorders.infrastructure.out.persistence.entity.OutboxJpaEntity;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 @Repository
 public interface OutboxMessageJpaRepository extends JpaRepository<OutboxJpaEntity, java.util.UUID> {
-    List<OutboxJpaEntity> findTopNByStatusOrderByCreatedAtAsc(OutboxJpaEntity.OutboxStatusJpa status, Pageable pageable);
-} 
\ No newline at end of file
+    /**
+     * Finds messages that can be claimed now: due messages and messages whose lease expired.
+     * A message is skipped while an earlier message of the same aggregate is still in flight
+     * elsewhere, that is, waiting for a retry or leased to a live owner, so the events of an
+     * aggregate are never published out of order. Earlier messages that are claimable
+     * themselves do not block, since they come first in the same page.
+     */
+    @Query("SELECT o.id FROM OutboxJpaEntity o "
+         + "WHERE ((o.status IN :due AND o.nextAttemptAt <= :now) OR (o.status = :claimed AND o.leaseExpiresAt < :now)) "
+         + "AND NOT EXISTS (SELECT e.id FROM OutboxJpaEntity e WHERE e.aggregateId = o.aggregateId "
+         + "AND (e.createdAt < o.createdAt OR (e.createdAt = o.createdAt AND e.id < o.id)) "
+         + "AND e.status NOT IN :settled "
+         + "AND NOT ((e.status IN :due AND e.nextAttemptAt <= :now) OR (e.status = :claimed AND e.leaseExpiresAt < :now))) "
+         + "ORDER BY o.createdAt ASC, o.id ASC")
+    List<UUID> findClaimableIds(@Param("due") Collection<OutboxJpaEntity.OutboxStatusJpa> due,
+                                @Param("claimed") OutboxJpaEntity.OutboxStatusJpa claimed,
+                                @Param("settled") Collection<OutboxJpaEntity.OutboxStatusJpa> settled,
+                                @Param("now") Instant now,
+                                Pageable pageable);
+
+    /**
+     * Conditional claim: a row is only taken if it is still due or its lease has expired,
+     * so concurrent nodes racing for the same candidates never both win it. The ordering
+     * guard of {@link #findClaimableIds} is checked again against the committed state.
+     * Taking over an expired lease counts as a failed attempt, so a message that keeps
+     * crashing its owner is eventually dead-lettered.
+     */
+    @Modifying
+    @Query("UPDATE OutboxJpaEntity o SET o.status = :claimed, o.claimedBy = :ownerId, o.leaseExpiresAt = :leaseExpiresAt, "
+         + "o.attempts = CASE WHEN o.status = :claimed THEN o.attempts + 1 ELSE o.attempts END "
+         + "WHERE o.id IN :ids "
+         + "AND ((o.status IN :due AND o.nextAttemptAt <= :now) OR (o.status = :claimed AND o.leaseExpiresAt < :now)) "
+         + "AND NOT EXISTS (SELECT e.id FROM OutboxJpaEntity e WHERE e.aggregateId = o.aggregateId "
+         + "AND (e.createdAt < o.createdAt OR (e.createdAt = o.createdAt AND e.id < o.id)) "
+         + "AND e.status NOT IN :settled "
+         + "AND NOT ((e.status IN :due AND e.nextAttemptAt <= :now) OR (e.status = :claimed AND e.leaseExpiresAt < :now)))")
+    int claim(@Param("ids") Collection<UUID> ids,
+              @Param("due") Collection<OutboxJpaEntity.OutboxStatusJpa> due,
+              @Param("claimed") OutboxJpaEntity.OutboxStatusJpa claimed,
+              @Param("settled") Collection<OutboxJpaEntity.OutboxStatusJpa> settled,
+              @Param("ownerId") String ownerId,
+              @Param("leaseExpiresAt") Instant leaseExpiresAt,
+              @Param("now") Instant now);
+
+    List<OutboxJpaEntity> findByClaimedByAndStatusAndIdInOrderByCreatedAtAscIdAsc(String claimedBy,
+                                                                            OutboxJpaEntity.OutboxStatusJpa status,
+                                                                            Collection<UUID> ids);
+
+    /**
+     * Settles messages claimed by the given owner. Rows whose lease expired and were
+     * claimed again by another node are left untouched.
+     */
+    @Modifying
+    @Query("UPDATE OutboxJpaEntity o SET o.status = :status, o.processedAt = INSTANT, o.claimedBy = NULL, o.leaseExpiresAt = NULL "
+         + "WHERE o.id IN :ids AND o.status = :claimed AND o.claimedBy = :ownerId")
+    int updateClaimedStatusByIdIn(@Param("ids") Collection<UUID> ids,
+                                  @Param("claimed") OutboxJpaEntity.OutboxStatusJpa claimed,
+                                  @Param("ownerId") String ownerId,
+                                  @Param("status") OutboxJpaEntity.OutboxStatusJpa status);
+
+    @Modifying
+    @Query("UPDATE OutboxJpaEntity o SET o.status = :failed, o.attempts = o.attempts + 1, o.nextAttemptAt = :nextAttemptAt, "
+         + "o.claimedBy = NULL, o.leaseExpiresAt = NULL "
+         + "WHERE o.id IN :ids AND o.status = :claimed AND o.claimedBy = :ownerId")
+    int scheduleRetry(@Param("ids") Collection<UUID> ids,
+                      @Param("claimed") OutboxJpaEntity.OutboxStatusJpa claimed,
+                      @Param("ownerId") String ownerId,
+                      @Param("failed") OutboxJpaEntity.OutboxStatusJpa failed,
+                      @Param("nextAttemptAt") Instant nextAttemptAt);
+
+    @Query("SELECT o.id FROM OutboxJpaEntity o WHERE o.status = :status AND o.processedAt < :cutoff")
+    List<UUID> findIdsByStatusAndProcessedAtBefore(@Param("status") OutboxJpaEntity.OutboxStatusJpa status,
+                                                   @Param("cutoff") Instant cutoff,
+                                                   Pageable pageable);
+
+    long countByStatusIn(Collection<OutboxJpaEntity.OutboxStatusJpa> statuses);
+
+    @Query("SELECT MIN(o.createdAt) FROM OutboxJpaEntity o WHERE o.status IN :statuses")
+    Instant findMinCreatedAtByStatusIn(@Param("statuses") Collection<OutboxJpaEntity.OutboxStatusJpa> statuses);
+}
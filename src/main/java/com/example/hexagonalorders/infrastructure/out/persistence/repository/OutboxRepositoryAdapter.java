@@ -3,57 +3,189 @@ package com.example.hexagonalorders.infrastructure.out.persistence.repository;
 import com.example.hexagonalorders.domain.model.OutboxMessage;
 import com.example.hexagonalorders.domain.model.Status;
 import com.example.hexagonalorders.domain.port.out.OutboxRepository;
+import com.example.hexagonalorders.infrastructure.out.event.OutboxSignal;
 import com.example.hexagonalorders.infrastructure.out.persistence.entity.OutboxJpaEntity;
 import com.example.hexagonalorders.infrastructure.out.persistence.entity.OutboxMessageMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Repository
 public class OutboxRepositoryAdapter implements OutboxRepository {
     
+    private static final Object WAKEUP_REGISTERED = new Object();
+    
+    private static final List<OutboxJpaEntity.OutboxStatusJpa> DUE_STATUSES =
+        List.of(OutboxJpaEntity.OutboxStatusJpa.PENDING, OutboxJpaEntity.OutboxStatusJpa.FAILED);
+    
+    private static final List<OutboxJpaEntity.OutboxStatusJpa> SETTLED_STATUSES =
+        List.of(OutboxJpaEntity.OutboxStatusJpa.PROCESSED, OutboxJpaEntity.OutboxStatusJpa.DEAD_LETTER);
+    
+    private static final List<OutboxJpaEntity.OutboxStatusJpa> BACKLOG_STATUSES =
+        List.of(OutboxJpaEntity.OutboxStatusJpa.PENDING, OutboxJpaEntity.OutboxStatusJpa.CLAIMED,
+                OutboxJpaEntity.OutboxStatusJpa.FAILED);
+    
     private final OutboxMessageJpaRepository outboxMessageJpaRepository;
+    private final OutboxSignal outboxSignal;
+    private final int flushSize;
     
-    public OutboxRepositoryAdapter(OutboxMessageJpaRepository outboxMessageJpaRepository) {
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public OutboxRepositoryAdapter(OutboxMessageJpaRepository outboxMessageJpaRepository, OutboxSignal outboxSignal,
+                                   @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int flushSize) {
         this.outboxMessageJpaRepository = outboxMessageJpaRepository;
+        this.outboxSignal = outboxSignal;
+        this.flushSize = flushSize;
     }
     
     @Override
     public void save(OutboxMessage outboxMessage) {
         OutboxJpaEntity jpaEntity = OutboxMessageMapper.toJpaEntity(outboxMessage);
         outboxMessageJpaRepository.save(jpaEntity);
+        signalAfterCommit();
+    }
+    
+    /**
+     * Saves the messages in chunks of the JDBC batch size, flushing and clearing the
+     * persistence context after each chunk so a large import does not keep every row managed.
+     */
+    @Override
+    @Transactional
+    public void saveAll(List<OutboxMessage> outboxMessages) {
+        if (outboxMessages.isEmpty()) {
+            return;
+        }
+        List<OutboxJpaEntity> chunk = new ArrayList<>(flushSize);
+        for (OutboxMessage outboxMessage : outboxMessages) {
+            chunk.add(OutboxMessageMapper.toJpaEntity(outboxMessage));
+            if (chunk.size() == flushSize) {
+                saveChunk(chunk);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk);
+        }
+        signalAfterCommit();
+    }
+    
+    private void saveChunk(List<OutboxJpaEntity> chunk) {
+        outboxMessageJpaRepository.saveAll(chunk);
+        entityManager.flush();
+        entityManager.clear();
+        chunk.clear();
+    }
+    
+    /**
+     * Wakes the outbox relay once the current transaction commits, so new messages are
+     * published right away instead of waiting for the next poll. Only one wake-up is
+     * registered per transaction, however many messages it writes.
+     */
+    private void signalAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outboxSignal.signal();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(WAKEUP_REGISTERED)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WAKEUP_REGISTERED, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxSignal.signal();
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WAKEUP_REGISTERED);
+            }
+        });
     }
     
     @Override
-    public List<OutboxMessage> findPending(int limit) {
-        PageRequest pageRequest = PageRequest.of(0, limit);
-        List<OutboxJpaEntity> jpaEntities = outboxMessageJpaRepository
-            .findTopNByStatusOrderByCreatedAtAsc(OutboxJpaEntity.OutboxStatusJpa.PENDING, pageRequest);
+    @Transactional
+    public List<OutboxMessage> claimPending(String ownerId, int limit, Duration leaseDuration) {
+        Instant now = Instant.now();
+        List<UUID> candidateIds = outboxMessageJpaRepository.findClaimableIds(
+            DUE_STATUSES, OutboxJpaEntity.OutboxStatusJpa.CLAIMED, SETTLED_STATUSES, now, PageRequest.of(0, limit));
+        if (candidateIds.isEmpty()) {
+            return List.of();
+        }
         
-        return jpaEntities.stream()
+        // Sólo se devuelven las filas que este nodo ganó en la actualización condicional
+        outboxMessageJpaRepository.claim(candidateIds, DUE_STATUSES, OutboxJpaEntity.OutboxStatusJpa.CLAIMED,
+            SETTLED_STATUSES, ownerId, now.plus(leaseDuration), now);
+        return outboxMessageJpaRepository
+            .findByClaimedByAndStatusAndIdInOrderByCreatedAtAscIdAsc(ownerId, OutboxJpaEntity.OutboxStatusJpa.CLAIMED, candidateIds)
+            .stream()
             .map(OutboxMessageMapper::toDomainModel)
             .collect(Collectors.toList());
     }
     
     @Override
-    public void markProcessed(UUID id) {
-        outboxMessageJpaRepository.findById(id).ifPresent(jpaEntity -> {
-            jpaEntity.setStatus(OutboxJpaEntity.OutboxStatusJpa.PROCESSED);
-            jpaEntity.setProcessedAt(Instant.now());
-            outboxMessageJpaRepository.save(jpaEntity);
-        });
+    @Transactional
+    public int markAllProcessed(String ownerId, Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return outboxMessageJpaRepository.updateClaimedStatusByIdIn(ids, OutboxJpaEntity.OutboxStatusJpa.CLAIMED,
+            ownerId, OutboxJpaEntity.OutboxStatusJpa.PROCESSED);
     }
     
     @Override
-    public void markFailed(UUID id) {
-        outboxMessageJpaRepository.findById(id).ifPresent(jpaEntity -> {
-            jpaEntity.setStatus(OutboxJpaEntity.OutboxStatusJpa.FAILED);
-            jpaEntity.setProcessedAt(Instant.now());
-            outboxMessageJpaRepository.save(jpaEntity);
-        });
+    @Transactional
+    public int scheduleRetry(String ownerId, Collection<UUID> ids, Instant nextAttemptAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return outboxMessageJpaRepository.scheduleRetry(ids, OutboxJpaEntity.OutboxStatusJpa.CLAIMED, ownerId,
+            OutboxJpaEntity.OutboxStatusJpa.FAILED, nextAttemptAt);
+    }
+    
+    @Override
+    @Transactional
+    public int markAllDeadLettered(String ownerId, Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return outboxMessageJpaRepository.updateClaimedStatusByIdIn(ids, OutboxJpaEntity.OutboxStatusJpa.CLAIMED,
+            ownerId, OutboxJpaEntity.OutboxStatusJpa.DEAD_LETTER);
+    }
+    
+    @Override
+    @Transactional
+    public int deleteProcessedBefore(Instant cutoff, int limit) {
+        List<UUID> ids = outboxMessageJpaRepository.findIdsByStatusAndProcessedAtBefore(
+            OutboxJpaEntity.OutboxStatusJpa.PROCESSED, cutoff, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        outboxMessageJpaRepository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+    
+    @Override
+    public long countBacklog() {
+        return outboxMessageJpaRepository.countByStatusIn(BACKLOG_STATUSES);
+    }
+    
+    @Override
+    public Optional<Instant> findOldestBacklogCreatedAt() {
+        return Optional.ofNullable(outboxMessageJpaRepository.findMinCreatedAtByStatusIn(BACKLOG_STATUSES));
     }
-} 
\ No newline at end of file
+}
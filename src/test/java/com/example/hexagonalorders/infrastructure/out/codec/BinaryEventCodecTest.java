@@ -0,0 +1,132 @@
+package com.example.hexagonalorders.infrastructure.out.codec;
+
+import com.example.hexagonalorders.domain.event.DeliveryCreatedEvent;
+import com.example.hexagonalorders.domain.event.DeliveryStatusChangedEvent;
+import com.example.hexagonalorders.domain.event.DomainEvent;
+import com.example.hexagonalorders.domain.event.OrderCreatedEvent;
+import com.example.hexagonalorders.domain.event.OrderDeletedEvent;
+import com.example.hexagonalorders.domain.event.OrderItemAddedEvent;
+import com.example.hexagonalorders.domain.model.DeliveryStatus;
+import com.example.hexagonalorders.domain.model.OrderItem;
+import com.example.hexagonalorders.domain.model.OrderStatus;
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import com.example.hexagonalorders.domain.model.valueobject.ProductNumber;
+import com.example.hexagonalorders.domain.model.valueobject.Quantity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Every event type survives an encode/decode round trip through {@link BinaryEventCodec},
+ * both with a body small enough to be stored as is and with one large enough to be deflated.
+ * The decoded event must equal the original in every field but the items of an order-created
+ * event, which the {@link com.example.hexagonalorders.domain.port.out.EventCodec} contract
+ * leaves out of the encoded form.
+ */
+class BinaryEventCodecTest {
+
+    private static final int COMPRESSION_THRESHOLD = 512;
+    // Texto repetitivo: alarga el cuerpo por encima del umbral y se comprime bien
+    private static final String LONG = "abcdefgh".repeat(100);
+
+    private final BinaryEventCodec codec = new BinaryEventCodec(COMPRESSION_THRESHOLD);
+
+    static Stream<DomainEvent> smallEvents() {
+        return events("");
+    }
+
+    static Stream<DomainEvent> largeEvents() {
+        return events(LONG);
+    }
+
+    private static Stream<DomainEvent> events(String padding) {
+        List<OrderItem> items = List.of(
+            new OrderItem(new ProductNumber("PROD-1"), new Quantity(2), new BigDecimal("10.50")),
+            new OrderItem(new ProductNumber("PROD-2"), new Quantity(1), new BigDecimal("3")));
+        return Stream.of(
+            new OrderCreatedEvent(42L, new OrderNumber("ORD-1" + padding), "CUST-1" + padding,
+                LocalDateTime.of(2024, 6, 18, 10, 0, 0, 123_456_789), OrderStatus.CREATED, 2, new BigDecimal("24.00"), items),
+            new OrderCreatedEvent(null, new OrderNumber("ORD-2" + padding), null, null, null, 0, null, List.of()),
+            new OrderItemAddedEvent(42L, new OrderNumber("ORD-1" + padding), 7L, new ProductNumber("PROD-3" + padding),
+                new Quantity(5), new BigDecimal("0.99")),
+            new OrderItemAddedEvent(null, null, null, new ProductNumber("PROD-4" + padding), new Quantity(1), null),
+            new DeliveryCreatedEvent("DEL-1" + padding, "ORD-1", DeliveryStatus.CREATED),
+            new DeliveryCreatedEvent("DEL-2" + padding, "ORD-2", null),
+            new DeliveryStatusChangedEvent("DEL-1" + padding, DeliveryStatus.IN_TRANSIT),
+            new OrderDeletedEvent(new OrderNumber("ORD-1" + padding)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("smallEvents")
+    void smallEventRoundTripsUncompressed(DomainEvent event) {
+        byte[] payload = codec.encode(event);
+
+        assertThat(payload[0]).isEqualTo(BinaryEventCodec.SCHEMA_VERSION);
+        assertThat(payload[1] & 0x01).isZero();
+        assertRoundTrip(event, codec.decode(payload));
+    }
+
+    @ParameterizedTest
+    @MethodSource("largeEvents")
+    void largeEventRoundTripsCompressed(DomainEvent event) {
+        byte[] payload = codec.encode(event);
+
+        assertThat(payload[1] & 0x01).isEqualTo(1);
+        assertThat(payload.length).isLessThan(LONG.length());
+        assertRoundTrip(event, codec.decode(payload));
+    }
+
+    @Test
+    void orderCreatedEventIsEncodedWithoutItems() {
+        OrderCreatedEvent event = (OrderCreatedEvent) smallEvents().findFirst().orElseThrow();
+
+        OrderCreatedEvent decoded = (OrderCreatedEvent) codec.decode(codec.encode(event));
+
+        assertThat(decoded.getItems()).isEmpty();
+        assertThat(decoded.getItemCount()).isEqualTo(2);
+        assertThat(decoded.getTotalAmount()).isEqualTo(new BigDecimal("24.00"));
+    }
+
+    @Test
+    void payloadOfAnotherSchemaVersionIsRejected() {
+        byte[] payload = codec.encode(new OrderDeletedEvent(new OrderNumber("ORD-1")));
+        payload[0] = BinaryEventCodec.SCHEMA_VERSION + 1;
+
+        assertThatThrownBy(() -> codec.decode(payload)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void truncatedCompressedPayloadIsRejected() {
+        byte[] payload = codec.encode(new OrderDeletedEvent(new OrderNumber(LONG)));
+        byte[] truncated = Arrays.copyOf(payload, payload.length / 2);
+
+        assertThatThrownBy(() -> codec.decode(truncated)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertRoundTrip(DomainEvent event, DomainEvent decoded) {
+        assertThat(decoded).isExactlyInstanceOf(event.getClass());
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(encodedForm(event));
+    }
+
+    /**
+     * The event as the codec contract says it comes back from the outbox: identical, except
+     * that an order-created event has lost its items.
+     */
+    private static DomainEvent encodedForm(DomainEvent event) {
+        if (event instanceof OrderCreatedEvent created) {
+            return new OrderCreatedEvent(created.getEventId(), created.getOccurredOn(), created.getOrderId(),
+                created.getOrderNumber(), created.getCustomerId(), created.getOrderDate(), created.getStatus(),
+                created.getItemCount(), created.getTotalAmount(), List.of());
+        }
+        return event;
+    }
+}
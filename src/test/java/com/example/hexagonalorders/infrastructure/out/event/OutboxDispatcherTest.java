@@ -0,0 +1,106 @@
+package com.example.hexagonalorders.infrastructure.out.event;
+
+import com.example.hexagonalorders.domain.model.OutboxMessage;
+import com.example.hexagonalorders.domain.port.out.MessagePublisher;
+import com.example.hexagonalorders.domain.port.out.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The dispatcher keeps the events of one aggregate in order even when they share a lane
+ * batch and one of them fails.
+ */
+class OutboxDispatcherTest {
+
+    private static final UUID AGGREGATE_A = UUID.randomUUID();
+    private static final UUID AGGREGATE_B = UUID.randomUUID();
+
+    private final RecordingPublisher publisher = new RecordingPublisher();
+    // Un solo carril: todos los mensajes comparten lote
+    private final OutboxDispatcher dispatcher = new OutboxDispatcher(publisher,
+        new OutboxMetrics(new SimpleMeterRegistry(), mock(OutboxRepository.class), 5000), 1);
+
+    @AfterEach
+    void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void messagesOfOneAggregateArePublishedOneAfterTheOther() {
+        OutboxMessage a1 = message(AGGREGATE_A, "A1");
+        OutboxMessage b1 = message(AGGREGATE_B, "B1");
+        OutboxMessage a2 = message(AGGREGATE_A, "A2");
+
+        OutboxDispatcher.DispatchResult result = dispatcher.dispatch(List.of(a1, b1, a2));
+
+        assertThat(result.processedIds()).containsExactlyInAnyOrder(a1.id(), b1.id(), a2.id());
+        assertThat(result.failedIds()).isEmpty();
+        // A2 no sale en el mismo lote que A1, sino después de su confirmación
+        assertThat(publisher.batches).containsExactly(List.of("A1", "B1"), List.of("A2"));
+    }
+
+    @Test
+    void laterMessagesOfAnAggregateAreHeldBackWhenAnEarlierOneFails() {
+        publisher.failing.add("A1");
+        OutboxMessage a1 = message(AGGREGATE_A, "A1");
+        OutboxMessage b1 = message(AGGREGATE_B, "B1");
+        OutboxMessage a2 = message(AGGREGATE_A, "A2");
+        OutboxMessage b2 = message(AGGREGATE_B, "B2");
+
+        OutboxDispatcher.DispatchResult result = dispatcher.dispatch(List.of(a1, b1, a2, b2));
+
+        assertThat(result.processedIds()).containsExactly(b1.id(), b2.id());
+        assertThat(result.failedIds()).containsExactlyInAnyOrder(a1.id(), a2.id());
+        assertThat(publisher.published()).doesNotContain("A2");
+    }
+
+    private static OutboxMessage message(UUID aggregateId, String payload) {
+        return OutboxMessage.createPendingMessage(UUID.randomUUID(), "Order", aggregateId, "OrderCreatedEvent",
+            payload.getBytes());
+    }
+
+    /**
+     * Records every batch and fails the messages whose payload is listed in {@link #failing},
+     * acknowledging each message independently as a per-topic log would.
+     */
+    private static class RecordingPublisher implements MessagePublisher {
+
+        final Set<String> failing = new HashSet<>();
+        final List<List<String>> batches = new ArrayList<>();
+
+        @Override
+        public void publish(String topic, byte[] payload) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public synchronized List<CompletableFuture<Void>> publishAll(List<Message> messages) {
+            List<String> batch = new ArrayList<>(messages.size());
+            List<CompletableFuture<Void>> acknowledgements = new ArrayList<>(messages.size());
+            for (Message message : messages) {
+                String payload = new String(message.payload());
+                batch.add(payload);
+                acknowledgements.add(failing.contains(payload)
+                    ? CompletableFuture.failedFuture(new IllegalStateException("Broker rejected " + payload))
+                    : CompletableFuture.completedFuture(null));
+            }
+            batches.add(batch);
+            return acknowledgements;
+        }
+
+        synchronized List<String> published() {
+            return batches.stream().flatMap(List::stream).toList();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.hexagonalorders.infrastructure.out.messaging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * What {@link TopicLog} and {@link LogSegment} keep when a log is reopened after a crash
+ * left its last segment torn or corrupt.
+ */
+class TopicLogRecoveryTest {
+
+    private static final int SEGMENT_BYTES = 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopenedLogKeepsEveryRecordAcrossSegmentRolls() throws IOException {
+        // Cada registro ocupa 28 bytes, así que caben dos por segmento de 64
+        try (TopicLog log = TopicLog.open(directory, 64, FsyncPolicy.ALWAYS)) {
+            for (int i = 0; i < 5; i++) {
+                log.append(List.of(payload(i, 20), payload(i + 100, 20)));
+            }
+        }
+        assertThat(segmentFiles()).hasSize(5);
+
+        try (TopicLog log = TopicLog.open(directory, 64, FsyncPolicy.ALWAYS)) {
+            assertThat(log.startOffset()).isZero();
+            assertThat(log.endOffset()).isEqualTo(10);
+            List<LogRecord> records = log.read(0, 100);
+            assertThat(records).extracting(LogRecord::offset).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+            assertThat(records.get(3).payload()).isEqualTo(payload(101, 20));
+            assertThat(log.append(List.of(payload(7, 20)))).isEqualTo(10);
+        }
+    }
+
+    @Test
+    void recordWithChecksumMismatchAndEverythingAfterItAreDropped() throws IOException {
+        writeRecords(payload(1, 10), payload(2, 10), payload(3, 10));
+        // Se corrompe un byte de la carga del segundo registro
+        corrupt(recordPosition(1, 10) + LogSegment.HEADER_BYTES + 4);
+
+        try (TopicLog log = TopicLog.open(directory, SEGMENT_BYTES, FsyncPolicy.ALWAYS)) {
+            assertThat(log.endOffset()).isEqualTo(1);
+            assertThat(log.read(0, 10)).extracting(LogRecord::offset).containsExactly(0L);
+        }
+    }
+
+    @Test
+    void recordTruncatedInsideItsPayloadIsDropped() throws IOException {
+        writeRecords(payload(1, 10), payload(2, 10), payload(3, 10));
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            channel.truncate(recordPosition(2, 10) + LogSegment.HEADER_BYTES + 3);
+        }
+
+        try (TopicLog log = TopicLog.open(directory, SEGMENT_BYTES, FsyncPolicy.ALWAYS)) {
+            assertThat(log.endOffset()).isEqualTo(2);
+            assertThat(log.read(0, 10)).extracting(LogRecord::payload)
+                .containsExactly(payload(1, 10), payload(2, 10));
+        }
+    }
+
+    @Test
+    void headerClaimingMoreBytesThanTheSegmentHoldsEndsRecovery() throws IOException {
+        writeRecords(payload(1, 10), payload(2, 10));
+        writeInt(recordPosition(2, 10), SEGMENT_BYTES);
+
+        try (TopicLog log = TopicLog.open(directory, SEGMENT_BYTES, FsyncPolicy.ALWAYS)) {
+            assertThat(log.endOffset()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void shorterRecordWrittenOverATornOneIsNotFollowedByStaleBytes() throws IOException {
+        // La carga del registro roto contiene, justo donde acabará el siguiente registro de
+        // 10 bytes, algo con forma de registro válido que la recuperación no debe aceptar
+        byte[] stale = payload(9, 5);
+        ByteBuffer torn = ByteBuffer.wrap(payload(3, 200));
+        torn.putInt(10, stale.length).putInt(14, checksum(stale)).put(18, stale);
+        writeRecords(payload(1, 10), payload(2, 10), torn.array());
+        corrupt(recordPosition(2, 10) + LogSegment.HEADER_BYTES + 150);
+
+        try (TopicLog log = TopicLog.open(directory, SEGMENT_BYTES, FsyncPolicy.ALWAYS)) {
+            assertThat(log.endOffset()).isEqualTo(2);
+            assertThat(log.append(List.of(payload(4, 10)))).isEqualTo(2);
+        }
+
+        try (TopicLog log = TopicLog.open(directory, SEGMENT_BYTES, FsyncPolicy.ALWAYS)) {
+            assertThat(log.endOffset()).isEqualTo(3);
+            assertThat(log.read(0, 10)).extracting(LogRecord::payload)
+                .containsExactly(payload(1, 10), payload(2, 10), payload(4, 10));
+        }
+    }
+
+    private void writeRecords(byte[]... payloads) throws IOException {
+        try (TopicLog log = TopicLog.open(directory, SEGMENT_BYTES, FsyncPolicy.ALWAYS)) {
+            log.append(List.of(payloads));
+        }
+    }
+
+    private static int recordPosition(int recordNumber, int payloadLength) {
+        return recordNumber * (LogSegment.HEADER_BYTES + payloadLength);
+    }
+
+    private void corrupt(int position) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer value = ByteBuffer.allocate(1);
+            channel.read(value, position);
+            value.put(0, (byte) ~value.get(0));
+            value.rewind();
+            channel.write(value, position);
+        }
+    }
+
+    private void writeInt(int position, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, value), position);
+        }
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    private static int checksum(byte[] data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] payload(int seed, int length) {
+        byte[] payload = new byte[length];
+        byte[] text = ("record-" + seed + "-").getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < length; i++) {
+            payload[i] = text[i % text.length];
+        }
+        return payload;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.repository;
+
+import com.example.hexagonalorders.domain.event.OrderCreatedEvent;
+import com.example.hexagonalorders.domain.model.Order;
+import com.example.hexagonalorders.domain.model.OrderItem;
+import com.example.hexagonalorders.domain.model.OrderStatus;
+import com.example.hexagonalorders.domain.model.OrderWithId;
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import com.example.hexagonalorders.domain.model.valueobject.ProductNumber;
+import com.example.hexagonalorders.domain.model.valueobject.Quantity;
+import com.example.hexagonalorders.infrastructure.out.persistence.mapper.OrderJpaMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Lookups by order number are served from the cache, misses included, until a save, a
+ * delete or the commit of an {@link OrderCreatedEvent} evicts the entry; and callers never
+ * share the order instance they get.
+ */
+@DataJpaTest
+@Import({CachingOrderRepository.class, OrderJpaMapper.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CachingOrderRepositoryTest {
+
+    @SpyBean
+    private OrderRepositoryAdapter delegate;
+
+    @Autowired
+    private CachingOrderRepository repository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void missIsCached() {
+        OrderNumber number = newNumber();
+
+        assertThat(repository.findByOrderNumberWithId(number)).isEmpty();
+        assertThat(repository.findByOrderNumberWithId(number)).isEmpty();
+
+        verify(delegate, times(1)).findByOrderNumberWithId(number);
+    }
+
+    @Test
+    void saveEvictsTheEntry() {
+        Order order = order(newNumber());
+        assertThat(repository.findByOrderNumberWithId(order.getOrderNumber())).isEmpty();
+
+        repository.saveWithId(order);
+
+        assertThat(repository.findByOrderNumberWithId(order.getOrderNumber())).isPresent();
+        verify(delegate, times(2)).findByOrderNumberWithId(order.getOrderNumber());
+    }
+
+    @Test
+    void deleteEvictsTheEntry() {
+        Order order = order(newNumber());
+        repository.saveWithId(order);
+        assertThat(repository.findByOrderNumberWithId(order.getOrderNumber())).isPresent();
+
+        // Como en el servicio, el borrado corre dentro de una transacción
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            repository.deleteByOrderNumber(order.getOrderNumber()));
+
+        assertThat(repository.findByOrderNumberWithId(order.getOrderNumber())).isEmpty();
+        verify(delegate, times(2)).findByOrderNumberWithId(order.getOrderNumber());
+    }
+
+    @Test
+    void orderCreatedEventEvictsTheEntryOnceCommitted() {
+        Order order = order(newNumber());
+        assertThat(repository.findByOrderNumberWithId(order.getOrderNumber())).isEmpty();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // Guardada por otro camino que no pasa por la caché
+            delegate.saveWithId(order);
+            eventPublisher.publishEvent(new OrderCreatedEvent(null, order.getOrderNumber(), order.getCustomerId(),
+                order.getOrderDate(), order.getStatus(), 1, BigDecimal.TEN, order.getItems()));
+            // Hasta el commit se sigue viendo la ausencia cacheada
+            assertThat(repository.findByOrderNumberWithId(order.getOrderNumber())).isEmpty();
+        });
+
+        assertThat(repository.findByOrderNumberWithId(order.getOrderNumber())).isPresent();
+        verify(delegate, times(2)).findByOrderNumberWithId(order.getOrderNumber());
+    }
+
+    @Test
+    void everyHitGetsItsOwnCopyOfTheOrder() {
+        Order order = order(newNumber());
+        repository.saveWithId(order);
+        OrderWithId first = repository.findByOrderNumberWithId(order.getOrderNumber()).orElseThrow();
+
+        first.getOrder().addItem(new OrderItem(new ProductNumber("PROD-2"), new Quantity(1), BigDecimal.ONE), first.getId(), null);
+        first.getOrder().clearDomainEvents();
+
+        OrderWithId second = repository.findByOrderNumberWithId(order.getOrderNumber()).orElseThrow();
+        assertThat(second.getOrder()).isNotSameAs(first.getOrder());
+        assertThat(second.getOrder().getItems()).hasSize(1);
+        assertThat(second.getOrder().getDomainEvents()).isNotEmpty();
+        assertThat(second.getId()).isEqualTo(first.getId());
+        verify(delegate, times(1)).findByOrderNumberWithId(order.getOrderNumber());
+    }
+
+    private static OrderNumber newNumber() {
+        return new OrderNumber(UUID.randomUUID().toString());
+    }
+
+    private static Order order(OrderNumber number) {
+        List<OrderItem> items = new ArrayList<>(List.of(new OrderItem(new ProductNumber("PROD-1"), new Quantity(1), BigDecimal.TEN)));
+        return new Order(number, "CUST-1", LocalDateTime.of(2024, 1, 1, 0, 0), items, OrderStatus.CREATED);
+    }
+}
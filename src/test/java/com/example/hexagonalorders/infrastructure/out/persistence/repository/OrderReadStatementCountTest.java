@@ -0,0 +1,168 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.repository;
+
+import com.example.hexagonalorders.domain.model.Order;
+import com.example.hexagonalorders.domain.model.OrderItem;
+import com.example.hexagonalorders.domain.model.OrderStatus;
+import com.example.hexagonalorders.domain.model.OrderWithId;
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import com.example.hexagonalorders.domain.model.valueobject.ProductNumber;
+import com.example.hexagonalorders.domain.model.valueobject.Quantity;
+import com.example.hexagonalorders.domain.port.out.OrderQueryRepository.OrderFilter;
+import com.example.hexagonalorders.domain.port.out.OrderQueryRepository.OrderView;
+import com.example.hexagonalorders.infrastructure.out.persistence.entity.OrderJpaEntity;
+import com.example.hexagonalorders.infrastructure.out.persistence.mapper.OrderJpaMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Number of SQL statements each order read path issues, so a change that brings back a
+ * query per order fails here. The JPA paths are measured with Hibernate statistics; the
+ * JDBC page and stream are measured at the connection, since Hibernate does not see them.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({OrderRepositoryAdapter.class, OrderJpaMapper.class, JdbcOrderQueryRepository.class,
+         OrderReadStatementCountTest.StatementCounting.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderReadStatementCountTest {
+
+    private static final int ORDERS = 250;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderRepositoryAdapter orderRepository;
+
+    @Autowired
+    private JdbcOrderQueryRepository orderQueryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StatementCounting statementCounting;
+
+    private Statistics statistics;
+    private String customerId;
+    private List<OrderWithId> saved;
+
+    @BeforeEach
+    void seed() {
+        customerId = "CUST-" + UUID.randomUUID();
+        List<Order> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(order(i));
+        }
+        saved = orderRepository.saveAllWithId(orders);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statementCounting.count.set(0);
+    }
+
+    @Test
+    void getByNumberLoadsTheOrderAndItsItemsInOneStatement() {
+        OrderNumber number = saved.get(7).getOrder().getOrderNumber();
+
+        OrderWithId found = orderRepository.findByOrderNumberWithId(number).orElseThrow();
+
+        assertThat(found.getOrder().getItems()).hasSize(ITEMS_PER_ORDER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listingLoadsItemsInBatchesInsteadOfPerOrder() {
+        List<Order> orders = orderRepository.findAll();
+
+        // Una consulta de órdenes y una de ítems por cada lote de órdenes
+        long itemBatches = (orders.size() + OrderJpaEntity.ITEM_BATCH_SIZE - 1) / OrderJpaEntity.ITEM_BATCH_SIZE;
+        assertThat(orders).hasSizeGreaterThanOrEqualTo(ORDERS)
+            .allSatisfy(order -> assertThat(order.getItems()).hasSize(ITEMS_PER_ORDER));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + itemBatches);
+    }
+
+    @Test
+    void pageWithItemsIsReadInOneStatement() {
+        List<OrderView> page = orderQueryRepository.findPage(new OrderFilter(customerId, null, null, null), null, 100);
+
+        assertThat(page).hasSize(100).allSatisfy(order -> assertThat(order.items()).hasSize(ITEMS_PER_ORDER));
+        assertThat(statementCounting.count.get()).isEqualTo(1);
+    }
+
+    @Test
+    void streamOfEveryOrderWithItemsIsReadInOneStatement() {
+        List<OrderView> streamed = new ArrayList<>();
+
+        orderQueryRepository.forEach(new OrderFilter(customerId, null, null, null), streamed::add);
+
+        assertThat(streamed).hasSize(ORDERS).allSatisfy(order -> assertThat(order.items()).hasSize(ITEMS_PER_ORDER));
+        assertThat(statementCounting.count.get()).isEqualTo(1);
+    }
+
+    private Order order(int i) {
+        List<OrderItem> items = new ArrayList<>(ITEMS_PER_ORDER);
+        for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+            items.add(new OrderItem(new ProductNumber("PROD-" + j), new Quantity(j + 1), BigDecimal.TEN));
+        }
+        return new Order(new OrderNumber(UUID.randomUUID().toString()), customerId,
+            LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i), items, OrderStatus.CREATED);
+    }
+
+    /**
+     * Counts the statements prepared on any connection of the data source.
+     */
+    @TestConfiguration
+    static class StatementCounting implements BeanPostProcessor {
+
+        final AtomicLong count = new AtomicLong();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return counting(super.getConnection());
+                }
+            };
+        }
+
+        private Connection counting(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement") || method.getName().equals("createStatement")) {
+                        count.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        }
+    }
+}
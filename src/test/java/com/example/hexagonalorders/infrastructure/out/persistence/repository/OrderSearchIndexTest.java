@@ -0,0 +1,101 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.repository;
+
+import com.example.hexagonalorders.domain.model.Order;
+import com.example.hexagonalorders.domain.model.OrderItem;
+import com.example.hexagonalorders.domain.model.OrderStatus;
+import com.example.hexagonalorders.domain.model.valueobject.OrderNumber;
+import com.example.hexagonalorders.domain.model.valueobject.ProductNumber;
+import com.example.hexagonalorders.domain.model.valueobject.Quantity;
+import com.example.hexagonalorders.domain.port.out.OrderQueryRepository.OrderSearch;
+import com.example.hexagonalorders.domain.port.out.OrderQueryRepository.SearchCursor;
+import com.example.hexagonalorders.infrastructure.out.persistence.mapper.OrderJpaMapper;
+import com.example.hexagonalorders.infrastructure.out.persistence.repository.JdbcOrderQueryRepository.SearchQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every combination of search criteria, in both sort directions and with and without a
+ * cursor, reads the orders through the index meant for it rather than scanning the table.
+ */
+@DataJpaTest
+@Import({OrderRepositoryAdapter.class, OrderJpaMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderSearchIndexTest {
+
+    private static final int ORDERS = 2000;
+    private static final int CUSTOMERS = 100;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime FROM = START.plusDays(10);
+    private static final LocalDateTime TO = START.plusDays(20);
+
+    @Autowired
+    private OrderRepositoryAdapter orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Long.class) > 0) {
+            return;
+        }
+        OrderStatus[] statuses = OrderStatus.values();
+        List<Order> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(new Order(new OrderNumber(UUID.randomUUID().toString()), "CUST-" + (i % CUSTOMERS),
+                START.plusHours(i), List.of(new OrderItem(new ProductNumber("PROD-1"), new Quantity(1), BigDecimal.ONE)),
+                statuses[i % statuses.length]));
+        }
+        orderRepository.saveAllWithId(orders);
+        // Con estadísticas el optimizador estima la selectividad de cada índice
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    static Stream<Arguments> searches() {
+        Set<OrderStatus> statuses = Set.of(OrderStatus.CONFIRMED, OrderStatus.SHIPPED);
+        List<Arguments> searches = new ArrayList<>();
+        for (boolean newestFirst : new boolean[] {true, false}) {
+            for (SearchCursor cursor : new SearchCursor[] {null, new SearchCursor(START.plusDays(15), 500L)}) {
+                searches.add(Arguments.of("customer", new OrderSearch("CUST-7", null, null, null, newestFirst), cursor,
+                    "IDX_ORDERS_CUSTOMER_DATE"));
+                searches.add(Arguments.of("customer and statuses", new OrderSearch("CUST-7", statuses, null, null, newestFirst), cursor,
+                    "IDX_ORDERS_CUSTOMER_DATE"));
+                searches.add(Arguments.of("statuses", new OrderSearch(null, statuses, null, null, newestFirst), cursor,
+                    "IDX_ORDERS_STATUS_DATE"));
+                searches.add(Arguments.of("date", new OrderSearch(null, null, FROM, TO, newestFirst), cursor,
+                    "IDX_ORDERS_DATE"));
+                searches.add(Arguments.of("date and customer", new OrderSearch("CUST-7", null, FROM, TO, newestFirst), cursor,
+                    "IDX_ORDERS_CUSTOMER_DATE"));
+            }
+        }
+        return searches.stream();
+    }
+
+    @ParameterizedTest(name = "{0}: {1} after {2}")
+    @MethodSource("searches")
+    void searchReadsThroughItsIndex(String criteria, OrderSearch search, SearchCursor cursor, String index) {
+        SearchQuery query = JdbcOrderQueryRepository.searchQuery(search, cursor, 50);
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + query.sql(), String.class, query.args());
+
+        assertThat(plan.toUpperCase()).contains(index);
+    }
+}
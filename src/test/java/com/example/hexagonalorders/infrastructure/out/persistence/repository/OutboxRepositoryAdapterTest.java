@@ -0,0 +1,104 @@
+package com.example.hexagonalorders.infrastructure.out.persistence.repository;
+
+import com.example.hexagonalorders.domain.model.OutboxMessage;
+import com.example.hexagonalorders.domain.model.Status;
+import com.example.hexagonalorders.infrastructure.out.event.OutboxSignal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Claims, acknowledgements and retries of {@link OutboxRepositoryAdapter} against H2.
+ * Each call runs in its own transaction, as it does in the relay.
+ */
+@DataJpaTest
+@Import({OutboxRepositoryAdapter.class, OutboxSignal.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRepositoryAdapterTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Autowired
+    private OutboxRepositoryAdapter outboxRepository;
+
+    @Autowired
+    private OutboxMessageJpaRepository jpaRepository;
+
+    private final Instant start = Instant.now().minusSeconds(60);
+
+    @Test
+    void laterMessageOfAnAggregateWaitsWhileAnEarlierOneAwaitsItsRetry() {
+        UUID aggregate = UUID.randomUUID();
+        OutboxMessage first = message(aggregate, 0);
+        outboxRepository.save(first);
+        assertThat(ids(outboxRepository.claimPending("node-a", 10, LEASE))).containsExactly(first.id());
+        outboxRepository.scheduleRetry("node-a", List.of(first.id()), Instant.now().plusSeconds(3600));
+
+        OutboxMessage second = message(aggregate, 1);
+        OutboxMessage unrelated = message(UUID.randomUUID(), 2);
+        outboxRepository.save(second);
+        outboxRepository.save(unrelated);
+
+        assertThat(ids(outboxRepository.claimPending("node-b", 10, LEASE))).containsExactly(unrelated.id());
+    }
+
+    @Test
+    void laterMessageOfAnAggregateWaitsWhileAnEarlierOneIsLeasedElsewhere() {
+        UUID aggregate = UUID.randomUUID();
+        OutboxMessage first = message(aggregate, 0);
+        outboxRepository.save(first);
+        outboxRepository.claimPending("node-a", 10, LEASE);
+
+        outboxRepository.save(message(aggregate, 1));
+
+        assertThat(outboxRepository.claimPending("node-b", 10, LEASE)).isEmpty();
+    }
+
+    @Test
+    void messagesOfAnAggregateDueTogetherAreClaimedTogetherInOrder() {
+        UUID aggregate = UUID.randomUUID();
+        OutboxMessage first = message(aggregate, 0);
+        OutboxMessage second = message(aggregate, 1);
+        outboxRepository.save(second);
+        outboxRepository.save(first);
+
+        assertThat(ids(outboxRepository.claimPending("node-a", 10, LEASE))).containsExactly(first.id(), second.id());
+    }
+
+    @Test
+    void reclaimingAnExpiredLeaseCountsAsAnAttemptAndFencesThePreviousOwner() throws InterruptedException {
+        OutboxMessage message = message(UUID.randomUUID(), 0);
+        outboxRepository.save(message);
+        outboxRepository.claimPending("node-a", 10, Duration.ofMillis(1));
+        Thread.sleep(20);
+
+        List<OutboxMessage> reclaimed = outboxRepository.claimPending("node-b", 10, LEASE);
+
+        assertThat(reclaimed).singleElement().extracting(OutboxMessage::attempts).isEqualTo(1);
+        assertThat(outboxRepository.markAllProcessed("node-a", List.of(message.id()))).isZero();
+        assertThat(outboxRepository.scheduleRetry("node-a", List.of(message.id()), Instant.now())).isZero();
+        assertThat(outboxRepository.markAllProcessed("node-b", List.of(message.id()))).isEqualTo(1);
+        assertThat(jpaRepository.findById(message.id()).orElseThrow().getStatus())
+            .isEqualTo(com.example.hexagonalorders.infrastructure.out.persistence.entity.OutboxJpaEntity.OutboxStatusJpa.PROCESSED);
+    }
+
+    private OutboxMessage message(UUID aggregateId, int secondsAfterStart) {
+        Instant createdAt = start.plusSeconds(secondsAfterStart);
+        return new OutboxMessage(UUID.randomUUID(), "Order", aggregateId, "OrderCreatedEvent", new byte[] {1},
+            Status.PENDING, createdAt, null, 0, createdAt);
+    }
+
+    private static List<UUID> ids(List<OutboxMessage> messages) {
+        return messages.stream().map(OutboxMessage::id).toList();
+    }
+}